@@ -0,0 +1,104 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.dto.request.PdfGenerateRequest.PersonData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TextFieldData;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 명찰 한 장 단위 벤치마크 (90x55mm, 10px/mm = 900x550px)
+ * - renderPreview: 공개 미리보기 경로로 배경 + 텍스트 필드 렌더링 후 PNG 인코딩 (렌더링 계획은 요청 간 공유)
+ * - renderTextFields: 흰 배경 + 텍스트 필드 (글자 측정/그리기 비용)
+ * - encodePng / encodeLossless: 렌더링된 명찰 이미지 인코딩 (renderPreview 결과와 같은 픽셀)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BadgeRenderBenchmark {
+
+    private static final int WIDTH = 900;
+    private static final int HEIGHT = 550;
+    private static final float WIDTH_POINTS = 90f * PdfDocumentRenderer.MM_TO_POINTS;
+    private static final float HEIGHT_POINTS = 55f * PdfDocumentRenderer.MM_TO_POINTS;
+    private static final int DPI = 254;
+
+    @Param({BenchmarkFixtures.TEMPLATE_DEFAULT, BenchmarkFixtures.TEMPLATE_CUSTOM})
+    public String template;
+
+    @Param({BenchmarkFixtures.FONT_KOREAN, BenchmarkFixtures.FONT_LATIN})
+    public String font;
+
+    private PdfRenderExecutor renderExecutor;
+    private PdfDocumentRenderer renderer;
+    private TemplateData templateData;
+    private List<TextFieldData> textFields;
+    private BadgeRenderPlan textOnlyPlan;
+    private PersonData person;
+    private BufferedImage renderedImage;
+    private String calibrationKey;
+
+    private final BadgeImageEncoder pngEncoder = BadgeImageEncoder.png();
+    private final BadgeImageEncoder losslessEncoder = BadgeImageEncoder.lossless();
+
+    @Setup
+    public void setUp() throws IOException {
+        TemplateImageCache templateImageCache = new TemplateImageCache(256L * 1024 * 1024, null);
+        FontRegistry fontRegistry = BenchmarkFixtures.fontRegistry();
+        renderExecutor = new PdfRenderExecutor(1, 0);
+        renderer = BenchmarkFixtures.renderer(new ObjectMapper(), templateImageCache, renderExecutor, fontRegistry);
+
+        templateData = BenchmarkFixtures.template(template);
+        textFields = BenchmarkFixtures.textFields(font);
+        textOnlyPlan = BadgeRenderPlan.compile(textFields, WIDTH, HEIGHT, 1f, null, fontRegistry);
+        person = BenchmarkFixtures.persons(1, font).get(0);
+        renderedImage = toRgb(ImageIO.read(new ByteArrayInputStream(renderPreview())));
+        calibrationKey = BadgeRenderPlan.cacheKey(templateData, WIDTH, HEIGHT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderExecutor.shutdown();
+    }
+
+    @Benchmark
+    public byte[] renderPreview() throws IOException {
+        return renderer.renderPreview(templateData, textFields, person, WIDTH_POINTS, HEIGHT_POINTS, DPI,
+                PdfDocumentRenderer.BADGE_FORMAT_PNG);
+    }
+
+    @Benchmark
+    public BufferedImage renderTextFields() {
+        return textOnlyPlan.render(person);
+    }
+
+    @Benchmark
+    public BadgeImageEncoder.EncodedImage encodePng() throws IOException {
+        return pngEncoder.encode(renderedImage, calibrationKey);
+    }
+
+    @Benchmark
+    public BadgeImageEncoder.EncodedImage encodeLossless() throws IOException {
+        return losslessEncoder.encode(renderedImage, calibrationKey);
+    }
+
+    // 렌더링 결과와 같은 이미지 형식으로 (PNG 디코딩 결과는 형식이 다를 수 있음)
+    private static BufferedImage toRgb(BufferedImage image) {
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = rgb.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return rgb;
+    }
+}
@@ -0,0 +1,218 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.dto.request.PdfGenerateRequest.*;
+import com.nametagpro.entity.Generation;
+import com.nametagpro.entity.SnapshotComponent;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 벤치마크용 합성 PdfGenerateRequest 데이터
+ * - template: default (기본 템플릿, 이미지 없이 그림) / custom (dataUrl PNG 템플릿)
+ * - font: korean (Noto Sans KR + 한글 명단) / latin (Liberation Sans, 라틴 전용 내장 폰트 + 영문 명단)
+ * - 한글 폰트 파일은 PDF_FONTS_DIR(없으면 classpath fonts/)에서 읽고, 없으면 벤치마크 시작 실패
+ *   (기본 폰트로 대체되면 korean 축이 한글 글리프 없이 측정되므로)
+ */
+final class BenchmarkFixtures {
+
+    static final String TEMPLATE_DEFAULT = "default";
+    static final String TEMPLATE_CUSTOM = "custom";
+    static final String FONT_KOREAN = "korean";
+    static final String FONT_LATIN = "latin";
+
+    private static final String[] KOREAN_FAMILY_NAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임"};
+    private static final String[] KOREAN_GIVEN_NAMES = {"민준", "서연", "도윤", "하은", "시우", "지유", "주원", "서윤", "예준", "지민"};
+    private static final String[] KOREAN_ORGANIZATIONS = {"네임태그프로", "한빛소프트", "서울대학교", "행사기획팀", "대한상공회의소"};
+    private static final String[] KOREAN_TITLES = {"대표", "팀장", "연구원", "매니저", "디자이너"};
+
+    private static final String[] LATIN_FAMILY_NAMES = {"Smith", "Johnson", "Brown", "Garcia", "Miller", "Davis", "Wilson", "Moore", "Taylor", "Clark"};
+    private static final String[] LATIN_GIVEN_NAMES = {"Olivia", "Liam", "Emma", "Noah", "Ava", "James", "Sophia", "Lucas", "Mia", "Henry"};
+    private static final String[] LATIN_ORGANIZATIONS = {"NametagPro", "Acme Corp", "Globex", "Initech", "Event Partners"};
+    private static final String[] LATIN_TITLES = {"CEO", "Team Lead", "Researcher", "Manager", "Designer"};
+
+    private static volatile String customTemplateDataUrl;
+
+    private BenchmarkFixtures() {
+    }
+
+    static TemplateData template(String kind) throws IOException {
+        if (TEMPLATE_CUSTOM.equals(kind)) {
+            return TemplateData.builder()
+                    .id("custom-template")
+                    .fileName("custom.png")
+                    .dataUrl(customTemplateDataUrl())
+                    .width(1800)
+                    .height(1100)
+                    .build();
+        }
+        return TemplateData.builder()
+                .id(TemplateBackgroundRegistry.DEFAULT_TEMPLATE_ID)
+                .fileName("default")
+                .width(900)
+                .height(550)
+                .build();
+    }
+
+    static List<TextFieldData> textFields(String font) {
+        String family = FONT_KOREAN.equals(font) ? "Noto Sans KR" : "Liberation Sans";
+        return List.of(
+                textField("name", 50, 48, family, 48, 700, "#111827"),
+                textField("organization", 50, 66, family, 24, 400, "#374151"),
+                textField("title", 50, 78, family, 20, 400, "#6B7280"));
+    }
+
+    /**
+     * 벤치마크용 폰트 레지스트리 (등록된 폰트 파일이 하나라도 없으면 IllegalStateException)
+     */
+    static FontRegistry fontRegistry() {
+        String fontsDir = System.getenv("PDF_FONTS_DIR");
+        FontRegistry fontRegistry = new FontRegistry(fontsDir != null ? fontsDir : "", true);
+        fontRegistry.verifyFonts();
+        return fontRegistry;
+    }
+
+    static List<PersonData> persons(int count, String font) {
+        boolean korean = FONT_KOREAN.equals(font);
+        List<PersonData> persons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = korean
+                    ? KOREAN_FAMILY_NAMES[i % 10] + KOREAN_GIVEN_NAMES[(i / 10) % 10]
+                    : LATIN_GIVEN_NAMES[(i / 10) % 10] + " " + LATIN_FAMILY_NAMES[i % 10];
+            String organization = korean ? KOREAN_ORGANIZATIONS[i % 5] : LATIN_ORGANIZATIONS[i % 5];
+            String title = korean ? KOREAN_TITLES[(i / 5) % 5] : LATIN_TITLES[(i / 5) % 5];
+            persons.add(PersonData.builder()
+                    .id("person-" + i)
+                    .data(Map.of("name", name, "organization", organization, "title", title))
+                    .build());
+        }
+        return persons;
+    }
+
+    static ExportConfigData exportConfig() {
+        return ExportConfigData.builder()
+                .paperSize("A4")
+                .layout("2x4")
+                .margin(10)
+                .sizeMode("grid")
+                .gridGap(0)
+                .build();
+    }
+
+    /**
+     * 바이너리 스냅샷으로 저장된 기록 (현재 생성 요청 형식)
+     */
+    static GenerationSnapshot generation(TemplateData template, List<PersonData> persons,
+                                         List<TextFieldData> textFields) {
+        return generation(template, persons, textFields, null);
+    }
+
+    /**
+     * 바이너리 스냅샷으로 저장된 기록 (watermarkText가 있으면 워터마크 사용)
+     */
+    static GenerationSnapshot generation(TemplateData template, List<PersonData> persons,
+                                         List<TextFieldData> textFields, String watermarkText) {
+        GenerationSnapshotCodec.SharedComponent shared = GenerationSnapshotCodec.encodeShared(List.of(template),
+                textFields, exportConfig(), null, null);
+        return GenerationSnapshot.of(Generation.builder()
+                .projectName("benchmark")
+                .nametagCount(persons.size())
+                .watermarkEnabled(watermarkText != null)
+                .watermarkText(watermarkText)
+                .snapshotData(GenerationSnapshotCodec.encodePersons(persons))
+                .sharedComponent(SnapshotComponent.builder().hash(shared.hash()).data(shared.data()).refCount(1).build())
+                .build());
+    }
+
+    /**
+     * JSON 필드로 저장된 기록 (스냅샷 이전 전 형식)
+     */
+    static GenerationSnapshot jsonGeneration(ObjectMapper objectMapper, TemplateData template,
+                                             List<PersonData> persons, List<TextFieldData> textFields)
+            throws JsonProcessingException {
+        return GenerationSnapshot.of(Generation.builder()
+                .projectName("benchmark")
+                .nametagCount(persons.size())
+                .templateData(objectMapper.writeValueAsString(List.of(template)))
+                .personsData(objectMapper.writeValueAsString(persons))
+                .textFieldsData(objectMapper.writeValueAsString(textFields))
+                .exportConfigData(objectMapper.writeValueAsString(exportConfig()))
+                .build());
+    }
+
+    /**
+     * Spring 없이 조립한 렌더러 (명찰 렌더링 캐시는 끄고 매번 렌더링)
+     */
+    static PdfDocumentRenderer renderer(ObjectMapper objectMapper, TemplateImageCache templateImageCache,
+                                        PdfRenderExecutor renderExecutor, FontRegistry fontRegistry) {
+        PdfDocumentRenderer renderer = new PdfDocumentRenderer(objectMapper, templateImageCache, renderExecutor,
+                fontRegistry, new BadgeRenderCache(0, "", 0, 0), null);
+        // @Value 필드는 application.yml 기본값으로 설정
+        setField(renderer, "tempFileThreshold", 100);
+        setField(renderer, "maxStripPixels", 4_000_000L);
+        return renderer;
+    }
+
+    private static TextFieldData textField(String column, double x, double y, String fontFamily,
+                                           int fontSize, int fontWeight, String color) {
+        return TextFieldData.builder()
+                .id(column)
+                .column(column)
+                .label(column)
+                .position(PositionData.builder().x(x).y(y).build())
+                .style(StyleData.builder()
+                        .fontFamily(fontFamily)
+                        .fontSize(fontSize)
+                        .fontWeight(fontWeight)
+                        .color(color)
+                        .build())
+                .build();
+    }
+
+    /**
+     * 사진이 들어간 템플릿과 비슷하게 그라데이션/도형이 섞인 PNG
+     */
+    private static String customTemplateDataUrl() throws IOException {
+        String dataUrl = customTemplateDataUrl;
+        if (dataUrl == null) {
+            BufferedImage image = new BufferedImage(1800, 1100, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = image.createGraphics();
+            BadgeRenderPlan.applyRenderingHints(g2d);
+            g2d.setPaint(new GradientPaint(0, 0, new Color(14, 116, 144), 1800, 1100, new Color(236, 254, 255)));
+            g2d.fillRect(0, 0, 1800, 1100);
+            for (int i = 0; i < 40; i++) {
+                g2d.setColor(new Color((i * 53) % 256, (i * 97) % 256, (i * 31) % 256, 80));
+                g2d.fillOval((i * 137) % 1800, (i * 89) % 1100, 120 + i * 7, 120 + i * 5);
+            }
+            g2d.setColor(Color.WHITE);
+            g2d.fillRoundRect(120, 380, 1560, 620, 60, 60);
+            g2d.dispose();
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(image, "PNG", baos);
+            dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(baos.toByteArray());
+            customTemplateDataUrl = dataUrl;
+        }
+        return dataUrl;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.dto.request.PdfGenerateRequest.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation 렌더링 입력 저장 형식 비교 (JSON 필드 vs 바이너리 스냅샷)
+ * - encode: 생성 요청 시 직렬화
+ * - decode: 다운로드/재생성 시 템플릿, 필드 설정, 내보내기 설정, 명단 전체 복원
+ * - personCount: 명단을 읽지 않고 인원 수/템플릿만 필요한 경우 (수용 제어 비용 추정)
+ * - 템플릿은 기본 템플릿(이미지 없음)으로 고정해 명단 크기에 따른 차이만 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationSnapshotBenchmark {
+
+    @Param({"300", "3000", "20000"})
+    public int persons;
+
+    @Param({BenchmarkFixtures.FONT_KOREAN, BenchmarkFixtures.FONT_LATIN})
+    public String font;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<TemplateData> templates;
+    private List<PersonData> personData;
+    private List<TextFieldData> textFields;
+    private ExportConfigData exportConfig;
+
+    private GenerationSnapshot json;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        templates = List.of(BenchmarkFixtures.template(BenchmarkFixtures.TEMPLATE_DEFAULT));
+        personData = BenchmarkFixtures.persons(persons, font);
+        textFields = BenchmarkFixtures.textFields(font);
+        exportConfig = BenchmarkFixtures.exportConfig();
+
+        json = BenchmarkFixtures.jsonGeneration(objectMapper, templates.get(0), personData, textFields);
+        snapshot = GenerationSnapshotCodec.encode(templates, personData, textFields, exportConfig, null, null);
+    }
+
+    @Benchmark
+    public void encodeJson(Blackhole blackhole) throws JsonProcessingException {
+        blackhole.consume(objectMapper.writeValueAsString(templates));
+        blackhole.consume(objectMapper.writeValueAsString(personData));
+        blackhole.consume(objectMapper.writeValueAsString(textFields));
+        blackhole.consume(objectMapper.writeValueAsString(exportConfig));
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshot() {
+        return GenerationSnapshotCodec.encode(templates, personData, textFields, exportConfig, null, null);
+    }
+
+    @Benchmark
+    public void decodeJson(Blackhole blackhole) throws JsonProcessingException {
+        blackhole.consume(objectMapper.readValue(json.templateData(), listOf(TemplateData.class)));
+        blackhole.consume(objectMapper.readValue(json.personsData(), listOf(PersonData.class)));
+        blackhole.consume(objectMapper.readValue(json.textFieldsData(), listOf(TextFieldData.class)));
+        blackhole.consume(objectMapper.readValue(json.exportConfigData(), ExportConfigData.class));
+    }
+
+    @Benchmark
+    public void decodeSnapshot(Blackhole blackhole) throws IOException {
+        try (GenerationSnapshotCodec.Reader reader = GenerationSnapshotCodec.open(snapshot)) {
+            blackhole.consume(reader.templates());
+            blackhole.consume(reader.textFields());
+            blackhole.consume(reader.exportConfig());
+            blackhole.consume(reader.readPersons());
+        }
+    }
+
+    @Benchmark
+    public int personCountJson() throws JsonProcessingException {
+        objectMapper.readValue(json.templateData(), listOf(TemplateData.class));
+        objectMapper.readValue(json.exportConfigData(), ExportConfigData.class);
+        return objectMapper.readTree(json.personsData()).size();
+    }
+
+    @Benchmark
+    public int personCountSnapshot() throws IOException {
+        try (GenerationSnapshotCodec.Reader reader = GenerationSnapshotCodec.open(snapshot)) {
+            return reader.personCount();
+        }
+    }
+
+    private JavaType listOf(Class<?> elementType) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+}
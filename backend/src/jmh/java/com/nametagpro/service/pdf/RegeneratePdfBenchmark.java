@@ -0,0 +1,60 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.dto.request.PdfGenerateRequest.PersonData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장된 Generation에서 PDF 전체를 다시 만드는 벤치마크 (A4, 2x4 레이아웃, 10px/mm 래스터)
+ * - 스냅샷 디코딩, 배치 계산, 병렬 명찰 렌더링/인코딩, 페이지 조립, 저장까지 포함
+ * - 명찰 렌더링 캐시는 끄고 매번 렌더링 (템플릿 이미지/폰트 캐시는 실제 서버처럼 유지)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class RegeneratePdfBenchmark {
+
+    @Param({"1", "300", "3000"})
+    public int persons;
+
+    @Param({BenchmarkFixtures.TEMPLATE_DEFAULT, BenchmarkFixtures.TEMPLATE_CUSTOM})
+    public String template;
+
+    @Param({BenchmarkFixtures.FONT_KOREAN, BenchmarkFixtures.FONT_LATIN})
+    public String font;
+
+    private PdfRenderExecutor renderExecutor;
+    private PdfDocumentRenderer renderer;
+    private GenerationSnapshot generation;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        renderExecutor = new PdfRenderExecutor(0, 0);
+        renderer = BenchmarkFixtures.renderer(objectMapper, new TemplateImageCache(256L * 1024 * 1024, null),
+                renderExecutor, BenchmarkFixtures.fontRegistry());
+
+        TemplateData templateData = BenchmarkFixtures.template(template);
+        List<PersonData> personData = BenchmarkFixtures.persons(persons, font);
+        generation = BenchmarkFixtures.generation(templateData, personData, BenchmarkFixtures.textFields(font));
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderExecutor.shutdown();
+    }
+
+    @Benchmark
+    public List<String> regeneratePdf() throws IOException {
+        return renderer.render(generation, OutputStream.nullOutputStream(), PdfDocumentRenderer.ProgressListener.NONE);
+    }
+}
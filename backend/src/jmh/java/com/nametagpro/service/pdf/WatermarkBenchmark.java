@@ -0,0 +1,61 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 워터마크 비용 벤치마크 (A4, 2x4 레이아웃, 1장/10장)
+ * - 공개 render 경로로 워터마크 유무만 바꿔 문서 전체를 렌더링 (addWatermark만 따로 측정하지 않음)
+ * - 워터마크 Form XObject는 문서당 한 번 생성, 페이지마다 참조만 추가
+ * - 결과 읽는 법: 같은 persons/font에서 watermark=false와 true의 연산당 시간(1/처리량) 차이가 문서당 워터마크 비용
+ *   - 페이지당 비용은 그 차이를 페이지 수(persons 8 = 1장, 80 = 10장)로 나눈 값
+ *   - 차이가 두 결과의 오차 범위(±error)보다 작으면 워터마크 비용은 측정 잡음 수준
+ *   - 할당량은 gc.alloc.rate.norm(연산당 바이트)의 차이로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WatermarkBenchmark {
+
+    @Param({"8", "80"})
+    public int persons;
+
+    @Param({"false", "true"})
+    public boolean watermark;
+
+    @Param({BenchmarkFixtures.FONT_KOREAN, BenchmarkFixtures.FONT_LATIN})
+    public String font;
+
+    private PdfRenderExecutor renderExecutor;
+    private PdfDocumentRenderer renderer;
+    private GenerationSnapshot generation;
+
+    @Setup
+    public void setUp() throws IOException {
+        renderExecutor = new PdfRenderExecutor(1, 0);
+        renderer = BenchmarkFixtures.renderer(new ObjectMapper(), new TemplateImageCache(0, null), renderExecutor,
+                BenchmarkFixtures.fontRegistry());
+        String text = BenchmarkFixtures.FONT_KOREAN.equals(font) ? "샘플 미리보기" : "SAMPLE PREVIEW";
+        generation = BenchmarkFixtures.generation(BenchmarkFixtures.template(BenchmarkFixtures.TEMPLATE_DEFAULT),
+                BenchmarkFixtures.persons(persons, font), BenchmarkFixtures.textFields(font),
+                watermark ? text : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderExecutor.shutdown();
+    }
+
+    @Benchmark
+    public List<String> renderDocument() throws IOException {
+        return renderer.render(generation, OutputStream.nullOutputStream(), PdfDocumentRenderer.ProgressListener.NONE);
+    }
+}
@@ -49,12 +49,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 UUID userId = jwtService.extractUserId(jwt);
                 String email = jwtService.extractEmail(jwt);
+                // 역할 클레임이 없는 이전 토큰은 일반 사용자로 처리
+                String role = "ADMIN".equals(jwtService.extractRole(jwt)) ? "ROLE_ADMIN" : "ROLE_USER";
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userId,
                                 email,
-                                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                                Collections.singletonList(new SimpleGrantedAuthority(role))
                         );
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
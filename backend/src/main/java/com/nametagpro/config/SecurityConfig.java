@@ -31,6 +31,8 @@ public class SecurityConfig {
                 .requestMatchers("/api/v1/generations/**").permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/api/v1/health").permitAll()
+                // 렌더링 캐시/수용 제어/커넥션 풀 현황은 운영 정보라 관리자만
+                .requestMatchers("/api/v1/pdf/cache-stats").hasRole("ADMIN")
                 // User endpoints require authentication
                 .requestMatchers("/api/v1/users/**").authenticated()
                 // All other endpoints require authentication
@@ -0,0 +1,34 @@
+package com.nametagpro.config;
+
+import com.nametagpro.service.pdf.RenderAdmissionController;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 스트리밍 응답(StreamingResponseBody) 비동기 처리 설정
+ * - 다운로드 요청이 응답 전에 잡은 렌더링 예산을 비동기 요청이 끝나면 반환
+ *   (타임아웃/오류/작업 거절로 본문이 실행되지 않은 경우, 정상 완료 시에는 이미 반환되어 무시)
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                Object permit = request.getAttribute(RenderAdmissionController.PERMIT_ATTRIBUTE,
+                        RequestAttributes.SCOPE_REQUEST);
+                if (permit instanceof RenderAdmissionController.Permit renderPermit) {
+                    renderPermit.close();
+                }
+            }
+        });
+    }
+}
@@ -1,20 +1,28 @@
 package com.nametagpro.controller;
 
 import com.nametagpro.dto.request.PdfGenerateRequest;
+import com.nametagpro.dto.request.PdfPreviewRequest;
 import com.nametagpro.dto.response.PdfGenerateResponse;
-import com.nametagpro.dto.response.PdfRecordResponse;
+import com.nametagpro.dto.response.PdfRecordPageResponse;
+import com.nametagpro.dto.response.PdfStatusResponse;
 import com.nametagpro.exception.AuthException;
 import com.nametagpro.service.PdfService;
+import com.nametagpro.service.pdf.RenderAdmissionController;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -26,8 +34,8 @@ public class PdfController {
 
     /**
      * PDF 생성 (로그인 유저 전용)
-     * - JSON 데이터를 저장하고 Generation 레코드 생성
-     * - 실제 PDF는 다운로드 시점에 재생성
+     * - JSON 데이터를 저장하고 Generation 레코드 생성 (PROCESSING)
+     * - 실제 PDF는 백그라운드 작업에서 렌더링, 진행 상황은 /status로 조회
      */
     @PostMapping("/generate")
     public ResponseEntity<PdfGenerateResponse> generatePdf(
@@ -42,35 +50,103 @@ public class PdfController {
     }
 
     /**
-     * 내 PDF 기록 목록 조회
+     * 명찰 한 장 미리보기 (format: png, pdf)
+     * - Generation을 만들지 않고 요청한 템플릿/필드/명단 한 명으로 바로 렌더링
+     */
+    @PostMapping("/preview")
+    public ResponseEntity<byte[]> previewNametag(@Valid @RequestBody PdfPreviewRequest request) {
+        UUID userId = getAuthenticatedUserId();
+        if (userId == null) {
+            throw new AuthException("로그인이 필요합니다");
+        }
+
+        PdfService.PdfPreview preview = pdfService.previewNametag(request);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(preview.contentType()))
+                .cacheControl(CacheControl.noStore())
+                .body(preview.data());
+    }
+
+    /**
+     * 내 PDF 기록 목록 조회 (최신순 페이지, 다음 페이지는 마지막 기록의 createdAt/id를 before/beforeId로 전달)
      */
     @GetMapping("/records")
-    public ResponseEntity<List<PdfRecordResponse>> getMyPdfRecords() {
+    public ResponseEntity<PdfRecordPageResponse> getMyPdfRecords(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) UUID beforeId,
+            @RequestParam(required = false) Integer limit) {
         UUID userId = getAuthenticatedUserId();
         if (userId == null) {
             throw new AuthException("로그인이 필요합니다");
         }
 
-        List<PdfRecordResponse> records = pdfService.getUserPdfRecords(userId);
+        PdfRecordPageResponse records = pdfService.getUserPdfRecords(userId, before, beforeId, limit);
         return ResponseEntity.ok(records);
     }
 
     /**
-     * PDF 다운로드 (재생성)
+     * PDF 생성 작업 상태 조회 (PROCESSING / COMPLETED / FAILED, 진행 페이지 수)
+     */
+    @GetMapping("/{generationId}/status")
+    public ResponseEntity<PdfStatusResponse> getPdfStatus(@PathVariable UUID generationId) {
+        UUID userId = getAuthenticatedUserId();
+        if (userId == null) {
+            throw new AuthException("로그인이 필요합니다");
+        }
+
+        return ResponseEntity.ok(pdfService.getPdfStatus(userId, generationId));
+    }
+
+    /**
+     * PDF 다운로드
+     * - 저장된 결과물을 메모리에 모으지 않고 응답 스트림에 바로 기록
+     * - 대규모 행사 모드는 파트별 PDF를 묶은 ZIP
      */
     @GetMapping("/{generationId}/download")
-    public ResponseEntity<byte[]> downloadPdf(@PathVariable UUID generationId) {
+    public ResponseEntity<StreamingResponseBody> downloadPdf(@PathVariable UUID generationId,
+                                                             HttpServletRequest httpRequest) {
         UUID userId = getAuthenticatedUserId();
         if (userId == null) {
             throw new AuthException("로그인이 필요합니다");
         }
 
-        byte[] pdfBytes = pdfService.downloadPdf(userId, generationId);
+        PdfService.PdfDownload download = pdfService.downloadPdf(userId, generationId);
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_PDF)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"nametag.pdf\"")
-                .body(pdfBytes);
+        return toResponse(download, httpRequest);
+    }
+
+    /**
+     * 명찰별 파일 ZIP 다운로드 (format: png, pdf)
+     * - 명찰마다 별도 파일로 렌더링하면서 ZIP 엔트리를 응답에 바로 기록
+     */
+    @GetMapping("/{generationId}/badges")
+    public ResponseEntity<StreamingResponseBody> downloadBadgeArchive(
+            @PathVariable UUID generationId,
+            @RequestParam(defaultValue = "png") String format,
+            HttpServletRequest httpRequest) {
+        UUID userId = getAuthenticatedUserId();
+        if (userId == null) {
+            throw new AuthException("로그인이 필요합니다");
+        }
+
+        PdfService.PdfDownload download = pdfService.downloadBadgeArchive(userId, generationId, format);
+
+        return toResponse(download, httpRequest);
+    }
+
+    /**
+     * 렌더링 캐시 통계 (hit/miss/eviction), 수용 제어 및 DB 커넥션 풀 현황
+     * - 프로세스 전역 운영 정보라 관리자만 조회 (SecurityConfig)
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        UUID userId = getAuthenticatedUserId();
+        if (userId == null) {
+            throw new AuthException("로그인이 필요합니다");
+        }
+
+        return ResponseEntity.ok(pdfService.getRenderCacheStats());
     }
 
     /**
@@ -87,6 +163,20 @@ public class PdfController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * 스트리밍 다운로드 응답 (응답 전에 잡은 렌더링 예산은 요청 완료 시에도 반환되도록 요청 속성으로 넘김)
+     */
+    private ResponseEntity<StreamingResponseBody> toResponse(PdfService.PdfDownload download,
+                                                             HttpServletRequest httpRequest) {
+        if (download.permit() != null) {
+            httpRequest.setAttribute(RenderAdmissionController.PERMIT_ATTRIBUTE, download.permit());
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(download.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + download.fileName() + "\"")
+                .body(download.body());
+    }
+
     private UUID getAuthenticatedUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.getPrincipal() instanceof UUID) {
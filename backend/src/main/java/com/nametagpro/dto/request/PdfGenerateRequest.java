@@ -1,5 +1,6 @@
 package com.nametagpro.dto.request;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -55,6 +56,10 @@ public class PdfGenerateRequest {
         private String fileName;
         private String imageUrl;
         private String dataUrl;
+        // 템플릿 이미지 저장소 참조 (원본 이미지 SHA-256, 저장 시 dataUrl 대신 기록)
+        // - 서버가 TemplateBlobStore.put 결과로만 설정 (요청 본문의 값은 무시)
+        @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+        private String contentHash;
         private Integer width;
         private Integer height;
         private String role;
@@ -117,5 +122,9 @@ public class PdfGenerateRequest {
         private Integer fixedHeight; // mm
         private Integer blankPages;
         private Map<String, Integer> blankPagesPerTemplate;
+        private String renderMode; // raster (기본), vector
+        private String imageEncoding;     // lossless (기본), jpeg
+        private Integer jpegQuality;      // 1~100 (jpeg)
+        private Integer targetFileSizeMb; // 지정하면 JPEG 품질을 자동 선택
     }
 }
@@ -0,0 +1,38 @@
+package com.nametagpro.dto.request;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.PersonData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TextFieldData;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfPreviewRequest {
+
+    @NotNull(message = "템플릿 정보가 필요합니다")
+    private TemplateData template;
+
+    private List<TextFieldData> textFields;
+
+    @NotNull(message = "미리보기할 명단 데이터가 필요합니다")
+    private PersonData person;
+
+    private String format;    // png (기본), pdf
+
+    @Min(value = 72, message = "미리보기 해상도는 72~300 DPI 사이여야 합니다")
+    @Max(value = 300, message = "미리보기 해상도는 72~300 DPI 사이여야 합니다")
+    private Integer dpi;      // 기본 96
+
+    private Integer widthMm;  // 기본 90
+    private Integer heightMm; // 없으면 템플릿 비율로 계산
+}
@@ -23,6 +23,9 @@ public class PdfGenerateResponse {
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
 
+    // 다운로드 형식 (pdf, 대규모 행사 모드는 파트별 PDF를 묶은 zip)
+    private String fileType;
+
     // PDF 다운로드 URL (실제 다운로드 시점에 재생성)
     private String downloadUrl;
 }
@@ -0,0 +1,24 @@
+package com.nametagpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRecordPageResponse {
+
+    // 최신순 기록 (다음 페이지는 마지막 기록의 createdAt, id로 요청)
+    private List<PdfRecordResponse> records;
+
+    // 만료되지 않은 전체 기록 수
+    private Long totalCount;
+
+    // 다음 페이지 존재 여부
+    private Boolean hasMore;
+}
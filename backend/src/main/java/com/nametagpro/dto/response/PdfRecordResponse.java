@@ -1,5 +1,6 @@
 package com.nametagpro.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,13 @@ public class PdfRecordResponse {
     private LocalDateTime createdAt;
     private LocalDateTime expiresAt;
 
+    // 다운로드 형식 (pdf, 대규모 행사 모드는 파트별 PDF를 묶은 zip)
+    private String fileType;
+
+    // 단계별 렌더링 통계 (JSON, 통계가 없는 기록은 null)
+    @JsonRawValue
+    private String renderStats;
+
     // 남은 일수
     private Integer daysUntilExpiry;
 }
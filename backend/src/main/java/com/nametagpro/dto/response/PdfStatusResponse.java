@@ -0,0 +1,26 @@
+package com.nametagpro.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfStatusResponse {
+
+    private UUID id;
+    private String status;
+    private Integer pageCount;
+
+    // 진행 상황 (렌더링 완료 페이지 / 전체 페이지)
+    private Integer pagesDone;
+    private Integer totalPages;
+
+    // COMPLETED 상태에서만 포함
+    private String downloadUrl;
+}
@@ -8,7 +8,12 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "generations")
+@Table(name = "generations", indexes = {
+        // PDF 기록 목록 (유저별, 만료 전, 최신순)
+        @Index(name = "idx_generations_user_expires_created", columnList = "user_id, expires_at, created_at"),
+        // 공유 구성요소 참조 수 정리 (만료 해제, 미참조 구성요소 삭제)
+        @Index(name = "idx_generations_shared_component", columnList = "shared_component_hash")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,7 +46,18 @@ public class Generation {
     @Builder.Default
     private GenerationStatus status = GenerationStatus.PROCESSING;
 
-    // JSON 데이터 필드 (PDF 재생성용)
+    // PDF 재생성용 입력 (템플릿, 명단, 필드/내보내기 설정, 역할 매핑/색상) 바이너리 스냅샷
+    // - 형식은 GenerationSnapshotCodec, 아래 JSON 필드는 이전 기록용 (시작 시 스냅샷으로 이전 후 비움)
+    // - sharedComponent가 있으면 명단만 기록하고 나머지는 공유 구성요소에서 읽음
+    @Column(columnDefinition = "bytea")
+    private byte[] snapshotData;
+
+    // 같은 설정의 Generation끼리 공유하는 렌더링 입력 (렌더링은 트랜잭션 밖에서 하므로 함께 조회)
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "shared_component_hash")
+    private SnapshotComponent sharedComponent;
+
+    // JSON 데이터 필드 (이전 기록)
     @Column(columnDefinition = "jsonb")
     private String templateData;
 
@@ -60,6 +76,23 @@ public class Generation {
     @Column(columnDefinition = "jsonb")
     private String roleColorsData;
 
+    // 페이지별 내용 해시 (다음 생성 시 바뀌지 않은 페이지 재사용)
+    @Column(columnDefinition = "jsonb")
+    private String pageHashesData;
+
+    // 단계별 렌더링 시간/CPU/할당량 요약 (느린 작업 진단용)
+    @Column(columnDefinition = "jsonb")
+    private String renderStatsData;
+
+    // 생성 작업을 맡은 인스턴스와 마지막 heartbeat 시각 (오래 갱신되지 않으면 다른 인스턴스가 다시 맡음)
+    @Column(length = 64)
+    private String claimedBy;
+
+    private LocalDateTime claimedAt;
+
+    // 생성 작업 진행 상황 (다른 인스턴스의 상태 조회용, heartbeat마다 기록)
+    private Integer pagesDone;
+
     // 워터마크 설정
     @Builder.Default
     private Boolean watermarkEnabled = false;
@@ -0,0 +1,48 @@
+package com.nametagpro.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * 여러 Generation이 공유하는 렌더링 입력 (템플릿, 필드/내보내기 설정, 역할 매핑/색상)
+ * - 같은 프로젝트를 다시 생성하면 명단만 바뀌므로 내용 해시로 한 번만 저장
+ * - refCount는 참조하는 Generation 수, 0이 되면 만료 정리 시 삭제
+ * - 템플릿이 참조하는 TemplateBlob 해시를 함께 기록 (참조가 모두 사라진 이미지만 정리)
+ */
+@Entity
+@Table(name = "snapshot_components")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotComponent {
+
+    // 압축 전 본문의 SHA-256 (GenerationSnapshotCodec.SharedComponent)
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(columnDefinition = "bytea", nullable = false)
+    private byte[] data;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    // 템플릿이 참조하는 TemplateBlob 해시 (acquire 시 네이티브 쿼리로 기록)
+    @ElementCollection
+    @CollectionTable(name = "snapshot_component_blobs", joinColumns = @JoinColumn(name = "component_hash"),
+            indexes = @Index(name = "idx_snapshot_component_blobs_blob", columnList = "blob_hash"))
+    @Column(name = "blob_hash", length = 64, nullable = false)
+    private Set<String> blobHashes;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    // 마지막으로 참조 수가 바뀐 시각
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,33 @@
+package com.nametagpro.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * TemplateBlobStore에 저장된 템플릿 이미지 목록 (S3 template-blobs/<hash>)
+ * - 참조는 snapshot_component_blobs로 추적, lastUsedAt은 이미지를 저장/재사용할 때마다 갱신
+ * - 참조하는 구성요소가 없고 보관 기간 동안 쓰이지 않은 이미지는 만료 정리 시 S3 객체와 함께 삭제
+ */
+@Entity
+@Table(name = "template_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TemplateBlob {
+
+    // 원본 이미지 바이트의 SHA-256
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastUsedAt;
+}
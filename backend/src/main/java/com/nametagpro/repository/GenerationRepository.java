@@ -1,11 +1,15 @@
 package com.nametagpro.repository;
 
 import com.nametagpro.entity.Generation;
+import com.nametagpro.entity.SnapshotComponent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,13 +23,123 @@ public interface GenerationRepository extends JpaRepository<Generation, UUID> {
 
     Optional<Generation> findByIdAndProjectId(UUID id, UUID projectId);
 
-    // 유저별 PDF 기록 조회 (만료되지 않은 것만)
-    @Query("SELECT g FROM Generation g WHERE g.user.id = :userId AND g.expiresAt > :now ORDER BY g.createdAt DESC")
-    List<Generation> findByUserIdAndNotExpired(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+    // PDF 기록 목록 컬럼 (GenerationSummary)
+    String SUMMARY_SELECT = "SELECT g.id AS id, g.projectName AS projectName, g.pageCount AS pageCount, " +
+            "g.nametagCount AS nametagCount, g.status AS status, g.watermarkEnabled AS watermarkEnabled, " +
+            "g.watermarkText AS watermarkText, g.pdfUrl AS pdfUrl, g.zipUrl AS zipUrl, " +
+            "g.renderStatsData AS renderStatsData, g.createdAt AS createdAt, g.expiresAt AS expiresAt " +
+            "FROM Generation g ";
+
+    // 유저별 PDF 기록 요약 첫 페이지 (만료되지 않은 것만, 최신순)
+    @Query(SUMMARY_SELECT + "WHERE g.user.id = :userId AND g.expiresAt > :now " +
+            "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GenerationSummary> findSummariesByUserId(@Param("userId") UUID userId, @Param("now") LocalDateTime now,
+                                                  Pageable pageable);
+
+    // 유저별 PDF 기록 요약 다음 페이지 (keyset: 이전 페이지 마지막 기록보다 오래된 것)
+    @Query(SUMMARY_SELECT + "WHERE g.user.id = :userId AND g.expiresAt > :now " +
+            "AND (g.createdAt < :beforeCreatedAt OR (g.createdAt = :beforeCreatedAt AND g.id < :beforeId)) " +
+            "ORDER BY g.createdAt DESC, g.id DESC")
+    List<GenerationSummary> findSummariesByUserIdBefore(@Param("userId") UUID userId, @Param("now") LocalDateTime now,
+                                                        @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                        @Param("beforeId") UUID beforeId, Pageable pageable);
+
+    // 유저별 만료되지 않은 PDF 기록 수
+    @Query("SELECT COUNT(g) FROM Generation g WHERE g.user.id = :userId AND g.expiresAt > :now")
+    long countByUserIdAndNotExpired(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
 
     // 유저별 특정 Generation 조회
     Optional<Generation> findByIdAndUserId(UUID id, UUID userId);
 
+    // 렌더링된 PDF 결과물 URL 기록 (다운로드 시 트랜잭션 밖에서 호출)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.pdfUrl = :pdfUrl WHERE g.id = :id")
+    int updatePdfUrl(@Param("id") UUID id, @Param("pdfUrl") String pdfUrl);
+
+    // 생성 작업 완료 (결과물 URL과 함께 기록)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.status = com.nametagpro.entity.Generation.GenerationStatus.COMPLETED, g.pdfUrl = :pdfUrl, g.pageHashesData = :pageHashesData, g.renderStatsData = :renderStatsData WHERE g.id = :id")
+    int markCompleted(@Param("id") UUID id, @Param("pdfUrl") String pdfUrl,
+                      @Param("pageHashesData") String pageHashesData,
+                      @Param("renderStatsData") String renderStatsData);
+
+    // 대규모 행사 모드 생성 작업 완료 (파트별 PDF를 묶은 ZIP URL과 함께 기록)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.status = com.nametagpro.entity.Generation.GenerationStatus.COMPLETED, g.zipUrl = :zipUrl, g.renderStatsData = :renderStatsData WHERE g.id = :id")
+    int markCompletedWithZip(@Param("id") UUID id, @Param("zipUrl") String zipUrl,
+                             @Param("renderStatsData") String renderStatsData);
+
+    // 페이지를 재사용할 수 있는 같은 유저의 이전 기록 (최신순, 저장된 PDF와 페이지 해시가 있는 것만)
+    // 공유 구성요소(템플릿/필드/내보내기 설정)가 같아야 페이지 해시가 같을 수 있으므로 같은 구성요소만 조회
+    @Query("SELECT g.id AS id, g.pdfUrl AS pdfUrl, g.pageHashesData AS pageHashesData FROM Generation g " +
+            "WHERE g.sharedComponent.hash = :sharedHash AND g.user.id = :userId " +
+            "AND g.id <> :id AND g.createdAt <= :createdAt " +
+            "AND g.status = com.nametagpro.entity.Generation.GenerationStatus.COMPLETED " +
+            "AND g.pdfUrl IS NOT NULL AND g.pageHashesData IS NOT NULL AND g.expiresAt > :now " +
+            "ORDER BY g.createdAt DESC")
+    List<PriorGeneration> findReusablePriors(@Param("userId") UUID userId, @Param("sharedHash") String sharedHash,
+                                             @Param("id") UUID id, @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 생성 작업 실패 기록 (커밋 후 콜백에서도 호출하므로 항상 새 트랜잭션)
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE Generation g SET g.status = com.nametagpro.entity.Generation.GenerationStatus.FAILED, " +
+            "g.claimedBy = NULL, g.claimedAt = NULL WHERE g.id = :id")
+    int markFailed(@Param("id") UUID id);
+
+    // 다른 인스턴스가 맡지 않았거나 heartbeat가 끊긴 만료 전 생성 작업 ID
+    @Query("SELECT g.id FROM Generation g WHERE g.status = com.nametagpro.entity.Generation.GenerationStatus.PROCESSING " +
+            "AND g.expiresAt > :now AND (g.claimedAt IS NULL OR g.claimedAt < :staleBefore) ORDER BY g.createdAt")
+    List<UUID> findClaimableIds(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // 생성 작업 맡기 (조건을 다시 확인하므로 여러 인스턴스 중 한 곳만 1 반환)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.claimedBy = :owner, g.claimedAt = :now " +
+            "WHERE g.id = :id AND g.status = com.nametagpro.entity.Generation.GenerationStatus.PROCESSING " +
+            "AND (g.claimedAt IS NULL OR g.claimedAt < :staleBefore)")
+    int claim(@Param("id") UUID id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    // 맡은 작업의 heartbeat와 진행 상황 기록 (다른 인스턴스가 가져갔으면 0)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.claimedAt = :now, g.pagesDone = :pagesDone " +
+            "WHERE g.id = :id AND g.claimedBy = :owner " +
+            "AND g.status = com.nametagpro.entity.Generation.GenerationStatus.PROCESSING")
+    int heartbeat(@Param("id") UUID id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+                  @Param("pagesDone") int pagesDone);
+
+    // 종료 시 맡은 작업 반납 (다른 인스턴스가 heartbeat 만료를 기다리지 않고 바로 맡음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.claimedBy = NULL, g.claimedAt = NULL " +
+            "WHERE g.claimedBy = :owner AND g.status = com.nametagpro.entity.Generation.GenerationStatus.PROCESSING")
+    int releaseClaims(@Param("owner") String owner);
+
+    // 바이너리 스냅샷으로 이전하지 않은 만료 전 레코드 ID (스냅샷 이전용)
+    @Query("SELECT g.id FROM Generation g WHERE g.snapshotData IS NULL AND g.personsData IS NOT NULL " +
+            "AND g.expiresAt > :now ORDER BY g.createdAt")
+    List<UUID> findIdsWithoutSnapshot(@Param("now") LocalDateTime now);
+
+    // JSON 데이터를 바이너리 스냅샷(명단 + 공유 구성요소)으로 교체 (이미 이전된 레코드는 건드리지 않음)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Generation g SET g.snapshotData = :snapshotData, g.sharedComponent = :sharedComponent, " +
+            "g.templateData = NULL, g.personsData = NULL, g.textFieldsData = NULL, g.exportConfigData = NULL, " +
+            "g.roleMappingsData = NULL, g.roleColorsData = NULL " +
+            "WHERE g.id = :id AND g.snapshotData IS NULL")
+    int replaceJsonWithSnapshot(@Param("id") UUID id, @Param("snapshotData") byte[] snapshotData,
+                                @Param("sharedComponent") SnapshotComponent sharedComponent);
+
+    // 저장된 결과물이 있는 만료 레코드 ID (스케줄러용)
+    @Query("SELECT g.id FROM Generation g WHERE g.expiresAt < :now AND (g.pdfUrl IS NOT NULL OR g.zipUrl IS NOT NULL)")
+    List<UUID> findExpiredIdsWithArtifacts(@Param("now") LocalDateTime now);
+
     // 만료된 레코드 삭제 (스케줄러용)
     @Modifying
     @Query("DELETE FROM Generation g WHERE g.expiresAt < :now")
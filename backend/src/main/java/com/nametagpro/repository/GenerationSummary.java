@@ -0,0 +1,36 @@
+package com.nametagpro.repository;
+
+import com.nametagpro.entity.Generation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * PDF 기록 목록용 Generation 요약 (렌더링 입력 컬럼은 조회하지 않음)
+ */
+public interface GenerationSummary {
+
+    UUID getId();
+
+    String getProjectName();
+
+    Integer getPageCount();
+
+    Integer getNametagCount();
+
+    Generation.GenerationStatus getStatus();
+
+    Boolean getWatermarkEnabled();
+
+    String getWatermarkText();
+
+    String getPdfUrl();
+
+    String getZipUrl();
+
+    String getRenderStatsData();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,15 @@
+package com.nametagpro.repository;
+
+import java.util.UUID;
+
+/**
+ * 페이지 재사용용 이전 Generation (결과물 위치와 페이지 해시만 조회, 렌더링 입력은 조회하지 않음)
+ */
+public interface PriorGeneration {
+
+    UUID getId();
+
+    String getPdfUrl();
+
+    String getPageHashesData();
+}
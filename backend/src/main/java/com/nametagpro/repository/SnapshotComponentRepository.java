@@ -0,0 +1,61 @@
+package com.nametagpro.repository;
+
+import com.nametagpro.entity.SnapshotComponent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SnapshotComponentRepository extends JpaRepository<SnapshotComponent, String> {
+
+    // 참조 추가 (없으면 생성, 동시 요청도 행 잠금으로 한 번씩만 증가)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO snapshot_components (hash, data, ref_count, created_at, updated_at) " +
+            "VALUES (:hash, :data, 1, :now, :now) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = snapshot_components.ref_count + 1, updated_at = :now",
+            nativeQuery = true)
+    int acquire(@Param("hash") String hash, @Param("data") byte[] data, @Param("now") LocalDateTime now);
+
+    // 구성요소가 참조하는 템플릿 이미지 기록 (acquire와 함께 호출, 이미 있으면 무시)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO snapshot_component_blobs (component_hash, blob_hash) VALUES (:hash, :blobHash) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int addBlobReference(@Param("hash") String hash, @Param("blobHash") String blobHash);
+
+    // 참조 해제 (Generation 삭제 시)
+    @Modifying
+    @Transactional
+    @Query("UPDATE SnapshotComponent c SET c.refCount = c.refCount - 1, c.updatedAt = :now WHERE c.hash = :hash")
+    int release(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // 만료된 Generation의 참조 해제 (deleteExpiredRecords 전에 같은 트랜잭션에서 호출)
+    @Modifying
+    @Query(value = "UPDATE snapshot_components c SET ref_count = c.ref_count - e.refs, updated_at = :now " +
+            "FROM (SELECT shared_component_hash AS hash, COUNT(*) AS refs FROM generations " +
+            "WHERE expires_at < :now AND shared_component_hash IS NOT NULL GROUP BY shared_component_hash) e " +
+            "WHERE c.hash = e.hash",
+            nativeQuery = true)
+    int releaseExpired(@Param("now") LocalDateTime now);
+
+    // 삭제될 구성요소의 템플릿 이미지 참조 삭제 (deleteUnreferenced 직전에 같은 트랜잭션에서 호출)
+    @Modifying
+    @Query(value = "DELETE FROM snapshot_component_blobs b USING snapshot_components c " +
+            "WHERE b.component_hash = c.hash AND c.ref_count <= 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM generations g WHERE g.shared_component_hash = c.hash)",
+            nativeQuery = true)
+    int deleteUnreferencedBlobReferences();
+
+    // 참조가 없는 구성요소 삭제 (참조 수가 어긋나도 아직 참조하는 구성요소는 남김)
+    @Modifying
+    @Query("DELETE FROM SnapshotComponent c WHERE c.refCount <= 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM Generation g WHERE g.sharedComponent = c)")
+    int deleteUnreferenced();
+}
@@ -0,0 +1,35 @@
+package com.nametagpro.repository;
+
+import com.nametagpro.entity.TemplateBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TemplateBlobRepository extends JpaRepository<TemplateBlob, String> {
+
+    // 이미지 사용 기록 (없으면 생성, 정리 중인 행이면 정리 트랜잭션이 끝날 때까지 대기)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO template_blobs (hash, created_at, last_used_at) VALUES (:hash, :now, :now) " +
+            "ON CONFLICT (hash) DO UPDATE SET last_used_at = :now",
+            nativeQuery = true)
+    int touch(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // 참조하는 구성요소가 없고 cutoff 이후 쓰이지 않은 이미지
+    @Query("SELECT b.hash FROM TemplateBlob b WHERE b.lastUsedAt < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM SnapshotComponent c JOIN c.blobHashes h WHERE h = b.hash)")
+    List<String> findUnreferencedHashes(@Param("cutoff") LocalDateTime cutoff);
+
+    // 조건을 다시 확인하며 삭제 (그 사이 다시 쓰인 이미지는 0 반환)
+    @Modifying
+    @Query("DELETE FROM TemplateBlob b WHERE b.hash = :hash AND b.lastUsedAt < :cutoff " +
+            "AND NOT EXISTS (SELECT 1 FROM SnapshotComponent c JOIN c.blobHashes h WHERE h = b.hash)")
+    int deleteIfUnreferenced(@Param("hash") String hash, @Param("cutoff") LocalDateTime cutoff);
+}
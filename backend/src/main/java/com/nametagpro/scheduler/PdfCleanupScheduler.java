@@ -1,6 +1,11 @@
 package com.nametagpro.scheduler;
 
 import com.nametagpro.repository.GenerationRepository;
+import com.nametagpro.repository.SnapshotComponentRepository;
+import com.nametagpro.repository.TemplateBlobRepository;
+import com.nametagpro.service.PdfService;
+import com.nametagpro.service.pdf.PdfArtifactStore;
+import com.nametagpro.service.pdf.TemplateBlobStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -8,6 +13,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -15,9 +22,16 @@ import java.time.LocalDateTime;
 public class PdfCleanupScheduler {
 
     private final GenerationRepository generationRepository;
+    private final SnapshotComponentRepository snapshotComponentRepository;
+    private final PdfArtifactStore pdfArtifactStore;
+    private final TemplateBlobRepository templateBlobRepository;
+    private final TemplateBlobStore templateBlobStore;
 
     /**
-     * 매일 새벽 3시에 만료된 PDF 레코드 삭제
+     * 매일 새벽 3시에 만료된 PDF 레코드 및 저장된 결과물 삭제
+     * - 만료 레코드의 공유 구성요소 참조를 해제한 뒤 더 이상 참조되지 않는 구성요소도 삭제
+     * - 참조하는 구성요소가 없고 보관 기간(PdfService.EXPIRY_DAYS) 동안 쓰이지 않은 템플릿 이미지도 삭제
+     *   (구성요소 도입 전 스냅샷은 이미지 해시를 직접 담으므로 보관 기간이 지나야 참조가 없다고 볼 수 있음)
      */
     @Scheduled(cron = "0 0 3 * * *")
     @Transactional
@@ -25,10 +39,40 @@ public class PdfCleanupScheduler {
         log.info("만료된 PDF 기록 정리 시작...");
 
         try {
-            int deletedCount = generationRepository.deleteExpiredRecords(LocalDateTime.now());
-            log.info("만료된 PDF 기록 {}건 삭제 완료", deletedCount);
+            LocalDateTime now = LocalDateTime.now();
+
+            // 저장소의 PDF 결과물 먼저 삭제
+            List<UUID> artifactIds = generationRepository.findExpiredIdsWithArtifacts(now);
+            artifactIds.forEach(pdfArtifactStore::delete);
+
+            snapshotComponentRepository.releaseExpired(now);
+            int deletedCount = generationRepository.deleteExpiredRecords(now);
+            snapshotComponentRepository.deleteUnreferencedBlobReferences();
+            int componentCount = snapshotComponentRepository.deleteUnreferenced();
+            int blobCount = deleteUnreferencedTemplateBlobs(now.minusDays(PdfService.EXPIRY_DAYS));
+            log.info("만료된 PDF 기록 {}건, 공유 구성요소 {}건, 템플릿 이미지 {}건 삭제 완료",
+                    deletedCount, componentCount, blobCount);
         } catch (Exception e) {
             log.error("PDF 기록 정리 중 오류 발생", e);
         }
     }
+
+    private int deleteUnreferencedTemplateBlobs(LocalDateTime cutoff) {
+        int deleted = 0;
+        for (String hash : templateBlobRepository.findUnreferencedHashes(cutoff)) {
+            // 행을 먼저 지워 동시에 이미지를 재사용하는 요청은 정리가 끝난 뒤 다시 업로드하게 함
+            if (templateBlobRepository.deleteIfUnreferenced(hash, cutoff) == 0) {
+                continue;
+            }
+            try {
+                templateBlobStore.delete(hash);
+                deleted++;
+            } catch (Exception e) {
+                // 행을 되살려 다음 정리 때 다시 시도
+                log.warn("템플릿 이미지 삭제 실패: {}", hash, e);
+                templateBlobRepository.touch(hash, cutoff.minusSeconds(1));
+            }
+        }
+        return deleted;
+    }
 }
@@ -62,6 +62,11 @@ public class JwtService {
         return claims.get("email", String.class);
     }
 
+    public String extractRole(String token) {
+        Claims claims = extractAllClaims(token);
+        return claims.get("role", String.class);
+    }
+
     public String extractTokenType(String token) {
         Claims claims = extractAllClaims(token);
         return claims.get("type", String.class);
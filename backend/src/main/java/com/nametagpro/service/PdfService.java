@@ -1,42 +1,62 @@
 package com.nametagpro.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nametagpro.dto.request.PdfGenerateRequest;
 import com.nametagpro.dto.request.PdfGenerateRequest.*;
+import com.nametagpro.dto.request.PdfPreviewRequest;
 import com.nametagpro.dto.response.PdfGenerateResponse;
+import com.nametagpro.dto.response.PdfRecordPageResponse;
 import com.nametagpro.dto.response.PdfRecordResponse;
+import com.nametagpro.dto.response.PdfStatusResponse;
 import com.nametagpro.entity.Generation;
 import com.nametagpro.entity.User;
 import com.nametagpro.exception.ResourceNotFoundException;
+import com.nametagpro.exception.TooManyRequestsException;
 import com.nametagpro.exception.ValidationException;
 import com.nametagpro.repository.GenerationRepository;
+import com.nametagpro.repository.GenerationSummary;
+import com.nametagpro.repository.SnapshotComponentRepository;
 import com.nametagpro.repository.UserRepository;
+import com.nametagpro.service.pdf.BadgeRenderCache;
+import com.nametagpro.service.pdf.GenerationSnapshot;
+import com.nametagpro.service.pdf.GenerationSnapshotCodec;
+import com.nametagpro.service.pdf.PdfArtifactStore;
+import com.nametagpro.service.pdf.PdfDocumentRenderer;
+import com.nametagpro.service.pdf.PdfGenerationWorker;
+import com.nametagpro.service.pdf.RenderAdmissionController;
+import com.nametagpro.service.pdf.TeeOutputStream;
+import com.nametagpro.service.pdf.TemplateBlobStore;
+import com.nametagpro.service.pdf.TemplateImageCache;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType0Font;
-import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import javax.sql.DataSource;
+
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.*;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -44,61 +64,147 @@ import java.util.List;
 public class PdfService {
 
     private final GenerationRepository generationRepository;
+    private final SnapshotComponentRepository snapshotComponentRepository;
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
+    private final TemplateImageCache templateImageCache;
+    private final TemplateBlobStore templateBlobStore;
+    private final BadgeRenderCache badgeRenderCache;
+    private final PdfDocumentRenderer pdfDocumentRenderer;
+    private final PdfArtifactStore pdfArtifactStore;
+    private final PdfGenerationWorker pdfGenerationWorker;
+    private final RenderAdmissionController renderAdmission;
+    private final DataSource dataSource;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final int MAX_PERSONS = 300;
-    private static final int EXPIRY_DAYS = 30;
+    public static final int EXPIRY_DAYS = 30;
 
-    // 용지 크기 (mm)
-    private static final Map<String, float[]> PAPER_SIZES = Map.of(
-            "A4", new float[]{210f, 297f},
-            "Letter", new float[]{215.9f, 279.4f}
-    );
+    private static final String FILE_TYPE_PDF = "pdf";
+    private static final String FILE_TYPE_ZIP = "zip";
 
-    // mm to points (1mm = 2.83465 points)
-    private static final float MM_TO_POINTS = 2.83465f;
+    // 생성 대기열이 가득 찼을 때 Retry-After (작업 하나가 끝나 자리가 날 정도의 시간)
+    private static final long GENERATE_RETRY_AFTER_SECONDS = 30;
 
-    @Transactional
+    // 미리보기 기본값 (화면 표시용 저해상도) 및 제한
+    private static final int PREVIEW_DEFAULT_DPI = 96;
+    private static final int PREVIEW_DEFAULT_WIDTH_MM = 90;
+    private static final int PREVIEW_MAX_SIZE_MM = 500;
+
+    // PDF 기록 목록 페이지 크기
+    private static final int RECORDS_DEFAULT_PAGE_SIZE = 20;
+    private static final int RECORDS_MAX_PAGE_SIZE = 100;
+
+    // 대규모 행사 모드 포함 최대 명단 인원
+    @Value("${pdf.large-event.max-persons:20000}")
+    private int maxPersons;
+
+    /**
+     * 다운로드 응답 (형식에 따라 PDF 또는 파트별 PDF ZIP)
+     * - permit: 응답 전에 잡은 렌더링 예산 (본문이 끝나면 반환, 본문이 실행되지 않으면 비동기 요청 완료 시 반환)
+     */
+    public record PdfDownload(String fileName, String contentType, StreamingResponseBody body,
+                              RenderAdmissionController.Permit permit) {
+
+        public PdfDownload(String fileName, String contentType, StreamingResponseBody body) {
+            this(fileName, contentType, body, null);
+        }
+    }
+
+    /**
+     * 미리보기 응답 (PNG 또는 한 페이지 PDF)
+     */
+    public record PdfPreview(String contentType, byte[] data) {
+    }
+
+    /**
+     * PDF 생성 요청 접수
+     * - 작업 자리를 먼저 예약하고 커밋되면 작업 등록, 롤백되면 반납 (동시 요청이 같은 자리를 보지 않도록)
+     * - 인라인 템플릿 이미지는 트랜잭션 전에 저장소로 옮김 (S3 업로드 동안 DB 커넥션을 잡지 않도록)
+     */
     public PdfGenerateResponse generatePdf(UUID userId, PdfGenerateRequest request) {
+        // 검증
+        if (request.getPersons().size() > maxPersons) {
+            throw new ValidationException("최대 " + maxPersons + "명까지만 생성할 수 있습니다");
+        }
+        if (request.getTemplates() != null && request.getTemplates().stream().anyMatch(template ->
+                template.getImageUrl() != null && !templateBlobStore.isUploadedImageUrl(template.getImageUrl()))) {
+            throw new ValidationException("허용되지 않은 템플릿 이미지 URL입니다");
+        }
+        if (!pdfGenerationWorker.tryReserve()) {
+            throw new TooManyRequestsException("PDF 생성 요청이 많습니다. 잠시 후 다시 시도해주세요",
+                    GENERATE_RETRY_AFTER_SECONDS);
+        }
+
+        AtomicBoolean handedOff = new AtomicBoolean();
+        try {
+            List<TemplateData> templates = templateBlobStore.externalize(request.getTemplates());
+            return transactionTemplate.execute(tx -> {
+                // 이후 예약 반납/작업 등록은 트랜잭션 완료 콜백이 맡음
+                AtomicReference<UUID> submittedId = new AtomicReference<>();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_COMMITTED && submittedId.get() != null) {
+                            pdfGenerationWorker.submit(submittedId.get());
+                        } else {
+                            pdfGenerationWorker.releaseReservation();
+                        }
+                    }
+                });
+                handedOff.set(true);
+                return createGeneration(userId, request, templates, submittedId);
+            });
+        } finally {
+            if (!handedOff.get()) {
+                pdfGenerationWorker.releaseReservation();
+            }
+        }
+    }
+
+    /**
+     * Generation 레코드와 공유 구성요소 참조 저장 (generatePdf의 트랜잭션 안에서 호출)
+     */
+    private PdfGenerateResponse createGeneration(UUID userId, PdfGenerateRequest request, List<TemplateData> templates,
+                                                 AtomicReference<UUID> submittedId) {
         // 유저 확인
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다"));
 
-        // 검증
-        if (request.getPersons().size() > MAX_PERSONS) {
-            throw new ValidationException("최대 " + MAX_PERSONS + "명까지만 생성할 수 있습니다");
-        }
-
         // 페이지 수 계산
         ExportConfigData config = request.getExportConfig();
-        int[] layout = parseLayout(config.getLayout());
+        int[] layout = PdfDocumentRenderer.parseLayout(config.getLayout());
         int cols = layout[0];
         int rows = layout[1];
         int perPage = cols * rows;
         int totalNametags = request.getPersons().size() + calculateBlankPages(request);
         int pageCount = (int) Math.ceil((double) totalNametags / perPage);
 
-        // Generation 레코드 생성 (JSON 데이터 저장)
+        // 명단 외 입력은 공유 구성요소로 한 번만 저장하고 참조 수 증가 (같은 프로젝트 재생성 시 재사용)
+        GenerationSnapshotCodec.SharedComponent shared = GenerationSnapshotCodec.encodeShared(templates,
+                request.getTextFields(), request.getExportConfig(), request.getRoleMappings(), request.getRoleColors());
+        snapshotComponentRepository.acquire(shared.hash(), shared.data(), LocalDateTime.now());
+        shared.blobHashes().forEach(blobHash -> snapshotComponentRepository.addBlobReference(shared.hash(), blobHash));
+
+        // Generation 레코드 생성 (렌더링 입력은 바이너리 스냅샷으로 저장, 렌더링은 백그라운드 작업에서)
         Generation generation = Generation.builder()
                 .user(user)
                 .projectName(request.getProjectName() != null ? request.getProjectName() : "Untitled")
                 .pageCount(pageCount)
                 .nametagCount(request.getPersons().size())
-                .status(Generation.GenerationStatus.COMPLETED)
+                .status(Generation.GenerationStatus.PROCESSING)
                 .watermarkEnabled(request.getWatermarkEnabled() != null ? request.getWatermarkEnabled() : false)
                 .watermarkText(request.getWatermarkText())
-                .templateData(toJson(request.getTemplates()))
-                .personsData(toJson(request.getPersons()))
-                .textFieldsData(toJson(request.getTextFields()))
-                .exportConfigData(toJson(request.getExportConfig()))
-                .roleMappingsData(toJson(request.getRoleMappings()))
-                .roleColorsData(toJson(request.getRoleColors()))
+                .snapshotData(GenerationSnapshotCodec.encodePersons(request.getPersons()))
+                .sharedComponent(snapshotComponentRepository.getReferenceById(shared.hash()))
                 .expiresAt(LocalDateTime.now().plusDays(EXPIRY_DAYS))
+                .claimedBy(pdfGenerationWorker.instanceId())
+                .claimedAt(LocalDateTime.now())
                 .build();
 
         generation = generationRepository.save(generation);
 
+        // 커밋 후 작업 등록 (워커가 커밋 전 레코드를 조회하지 않도록)
+        submittedId.set(generation.getId());
+
         return PdfGenerateResponse.builder()
                 .id(generation.getId())
                 .projectName(generation.getProjectName())
@@ -108,458 +214,381 @@ public class PdfService {
                 .watermarkEnabled(generation.getWatermarkEnabled())
                 .createdAt(generation.getCreatedAt())
                 .expiresAt(generation.getExpiresAt())
+                .fileType(fileTypeOf(generation))
                 .downloadUrl("/api/v1/pdf/" + generation.getId() + "/download")
                 .build();
     }
 
+    /**
+     * 내 PDF 기록 목록 (최신순 keyset 페이지)
+     * - 목록 컬럼만 조회하고 템플릿 이미지/명단 등 렌더링 입력은 읽지 않음
+     *
+     * @param before   이전 페이지 마지막 기록의 생성 시각 (첫 페이지는 null)
+     * @param beforeId 이전 페이지 마지막 기록의 id (같은 시각의 기록 구분용)
+     */
     @Transactional(readOnly = true)
-    public List<PdfRecordResponse> getUserPdfRecords(UUID userId) {
-        List<Generation> generations = generationRepository.findByUserIdAndNotExpired(userId, LocalDateTime.now());
-
-        return generations.stream()
-                .map(this::toRecordResponse)
-                .toList();
-    }
-
-    @Transactional(readOnly = true)
-    public byte[] downloadPdf(UUID userId, UUID generationId) {
-        Generation generation = generationRepository.findByIdAndUserId(generationId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("PDF 기록을 찾을 수 없습니다"));
-
-        if (generation.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new ValidationException("만료된 PDF 기록입니다");
+    public PdfRecordPageResponse getUserPdfRecords(UUID userId, LocalDateTime before, UUID beforeId, Integer limit) {
+        if ((before == null) != (beforeId == null)) {
+            throw new ValidationException("before와 beforeId는 함께 지정해야 합니다");
         }
-
-        // JSON 데이터에서 PDF 재생성
-        try {
-            return regeneratePdf(generation);
-        } catch (Exception e) {
-            log.error("PDF 재생성 실패", e);
-            throw new ValidationException("PDF 생성에 실패했습니다: " + e.getMessage());
-        }
-    }
-
-    @Transactional
-    public void deletePdfRecord(UUID userId, UUID generationId) {
-        Generation generation = generationRepository.findByIdAndUserId(generationId, userId)
-                .orElseThrow(() -> new ResourceNotFoundException("PDF 기록을 찾을 수 없습니다"));
-
-        generationRepository.delete(generation);
+        int size = limit != null ? Math.max(1, Math.min(RECORDS_MAX_PAGE_SIZE, limit)) : RECORDS_DEFAULT_PAGE_SIZE;
+        LocalDateTime now = LocalDateTime.now();
+
+        // 한 건 더 조회해 다음 페이지 여부 판단
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<GenerationSummary> summaries = before != null
+                ? generationRepository.findSummariesByUserIdBefore(userId, now, before, beforeId, page)
+                : generationRepository.findSummariesByUserId(userId, now, page);
+
+        return PdfRecordPageResponse.builder()
+                .records(summaries.stream().limit(size).map(this::toRecordResponse).toList())
+                .totalCount(generationRepository.countByUserIdAndNotExpired(userId, now))
+                .hasMore(summaries.size() > size)
+                .build();
     }
 
     /**
-     * JSON 데이터에서 PDF 재생성
+     * PDF 다운로드
+     * - 조회/검증은 저장소 호출의 짧은 읽기 트랜잭션에서 끝내고 스냅샷으로 복사
+     * - 렌더링과 전송은 트랜잭션 밖에서 DB 커넥션 없이 진행
+     * - 다시 렌더링해야 하면 응답 전에 렌더링 예산을 잡아 거절 시 429로 응답 (본문이 끝나면 반환)
+     * - 저장소 스트림은 응답 본문 안에서 열어 본문이 실행되지 않으면 연결이 남지 않음
      */
-    private byte[] regeneratePdf(Generation generation) throws IOException {
-        // JSON 파싱
-        List<TemplateData> templates = fromJson(generation.getTemplateData(),
-                objectMapper.getTypeFactory().constructCollectionType(List.class, TemplateData.class));
-        List<PersonData> persons = fromJson(generation.getPersonsData(),
-                objectMapper.getTypeFactory().constructCollectionType(List.class, PersonData.class));
-        List<TextFieldData> textFields = generation.getTextFieldsData() != null ?
-                fromJson(generation.getTextFieldsData(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, TextFieldData.class)) :
-                new ArrayList<>();
-        ExportConfigData exportConfig = fromJson(generation.getExportConfigData(), ExportConfigData.class);
-        Map<String, String> roleMappings = generation.getRoleMappingsData() != null ?
-                fromJson(generation.getRoleMappingsData(), Map.class) : new HashMap<>();
-        Map<String, String> roleColors = generation.getRoleColorsData() != null ?
-                fromJson(generation.getRoleColorsData(), Map.class) : new HashMap<>();
-
-        // PDF 생성
-        try (PDDocument document = new PDDocument()) {
-            // 용지 크기
-            float[] paperSize = PAPER_SIZES.getOrDefault(exportConfig.getPaperSize(), PAPER_SIZES.get("A4"));
-            float pageWidth = paperSize[0] * MM_TO_POINTS;
-            float pageHeight = paperSize[1] * MM_TO_POINTS;
-            float margin = (exportConfig.getMargin() != null ? exportConfig.getMargin() : 10) * MM_TO_POINTS;
-
-            // 레이아웃 계산
-            int[] layout = parseLayout(exportConfig.getLayout());
-            int cols = layout[0];
-            int rows = layout[1];
-            int perPage = cols * rows;
-
-            float availableWidth = pageWidth - margin * 2;
-            float availableHeight = pageHeight - margin * 2;
-
-            // 그리드 간격
-            float gridGap = (exportConfig.getGridGap() != null ? exportConfig.getGridGap() : 0) * MM_TO_POINTS;
-            float totalHGaps = gridGap * (cols - 1);
-            float totalVGaps = gridGap * (rows - 1);
-            float cellWidth = (availableWidth - totalHGaps) / cols;
-            float cellHeight = (availableHeight - totalVGaps) / rows;
-
-            // 고정 크기 모드
-            boolean useFixedSize = "fixed".equals(exportConfig.getSizeMode());
-            float fixedWidth = (exportConfig.getFixedWidth() != null ? exportConfig.getFixedWidth() : 90) * MM_TO_POINTS;
-            float fixedHeight = (exportConfig.getFixedHeight() != null ? exportConfig.getFixedHeight() : 55) * MM_TO_POINTS;
-
-            // 템플릿 맵
-            Map<String, TemplateData> templateMap = new HashMap<>();
-            for (TemplateData t : templates) {
-                templateMap.put(t.getId(), t);
-            }
-            TemplateData defaultTemplate = templates.isEmpty() ? null : templates.get(0);
-
-            // 폰트 로드 (한글 지원)
-            PDFont font = loadFont(document);
-
-            // 명찰 렌더링
-            int totalItems = persons.size();
-            PDPage currentPage = null;
-            PDPageContentStream contentStream = null;
-
-            for (int i = 0; i < totalItems; i++) {
-                int posIdx = i % perPage;
-
-                // 새 페이지 필요
-                if (posIdx == 0) {
-                    if (contentStream != null) {
-                        // 워터마크 추가
-                        if (Boolean.TRUE.equals(generation.getWatermarkEnabled()) && generation.getWatermarkText() != null) {
-                            addWatermark(contentStream, font, generation.getWatermarkText(), pageWidth, pageHeight);
-                        }
-                        contentStream.close();
-                    }
-                    currentPage = new PDPage(new PDRectangle(pageWidth, pageHeight));
-                    document.addPage(currentPage);
-                    contentStream = new PDPageContentStream(document, currentPage);
+    public PdfDownload downloadPdf(UUID userId, UUID generationId) {
+        Generation entity = getDownloadableGeneration(userId, generationId);
+
+        // 대규모 행사 모드: 워커가 저장한 ZIP을 그대로 전송
+        if (FILE_TYPE_ZIP.equals(fileTypeOf(entity))) {
+            return new PdfDownload("nametag.zip", "application/zip", output -> {
+                try (InputStream stored = pdfArtifactStore.openZip(generationId)) {
+                    stored.transferTo(output);
                 }
+            });
+        }
+        GenerationSnapshot generation = GenerationSnapshot.of(entity);
 
-                int col = posIdx % cols;
-                int row = posIdx / cols;
-
-                // 셀 위치 계산 (PDF 좌표계는 좌하단이 원점)
-                float cellX = margin + col * (cellWidth + gridGap);
-                float cellY = pageHeight - margin - (row + 1) * cellHeight - row * gridGap;
-
-                PersonData person = persons.get(i);
+        // 결과물이 없는 기존 기록은 다시 렌더링하므로 응답 전에 차례를 기다림 (거절되면 429)
+        RenderAdmissionController.Permit permit = generation.pdfUrl() == null
+                ? renderAdmission.admit(pdfDocumentRenderer.estimateDocumentCost(generation, Integer.MAX_VALUE))
+                : null;
 
-                // 템플릿 선택
-                TemplateData template = defaultTemplate;
-                if (person.getTemplateId() != null && templateMap.containsKey(person.getTemplateId())) {
-                    template = templateMap.get(person.getTemplateId());
-                }
-
-                if (template == null) continue;
-
-                // 명찰 크기 계산
-                float nametagWidth, nametagHeight;
-                if (useFixedSize) {
-                    nametagWidth = fixedWidth;
-                    nametagHeight = fixedHeight;
-                } else {
-                    float templateAspect = (float) template.getWidth() / template.getHeight();
-                    nametagWidth = cellWidth;
-                    nametagHeight = cellWidth / templateAspect;
-                    if (nametagHeight > cellHeight) {
-                        nametagHeight = cellHeight;
-                        nametagWidth = cellHeight * templateAspect;
-                    }
+        return new PdfDownload("nametag.pdf", "application/pdf", output -> {
+            if (permit != null) {
+                try (permit) {
+                    regeneratePdf(generation, output);
                 }
+                return;
+            }
 
-                // 셀 중앙 배치
-                float offsetX = (cellWidth - nametagWidth) / 2;
-                float offsetY = (cellHeight - nametagHeight) / 2;
-                float x = cellX + offsetX;
-                float y = cellY + offsetY;
-
-                // 명찰 이미지 렌더링
-                BufferedImage nametagImage = renderNametag(template, person, textFields,
-                        (int) (nametagWidth / MM_TO_POINTS * 10), // 픽셀 변환 (대략적)
-                        (int) (nametagHeight / MM_TO_POINTS * 10),
-                        roleColors);
-
-                if (nametagImage != null) {
-                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                    ImageIO.write(nametagImage, "PNG", baos);
-                    PDImageXObject pdImage = PDImageXObject.createFromByteArray(document, baos.toByteArray(), "nametag");
-                    contentStream.drawImage(pdImage, x, y, nametagWidth, nametagHeight);
+            // 저장된 결과물이 있으면 렌더링 없이 그대로 전송
+            InputStream stored = openStoredPdf(generation);
+            if (stored != null) {
+                try (stored) {
+                    stored.transferTo(output);
                 }
+                return;
             }
 
-            // 마지막 페이지 워터마크 및 닫기
-            if (contentStream != null) {
-                if (Boolean.TRUE.equals(generation.getWatermarkEnabled()) && generation.getWatermarkText() != null) {
-                    addWatermark(contentStream, font, generation.getWatermarkText(), pageWidth, pageHeight);
-                }
-                contentStream.close();
+            // 기록된 결과물이 저장소에서 사라진 경우만 본문 안에서 차례를 기다림 (거절되면 연결이 끊김)
+            try (RenderAdmissionController.Permit fallback = renderAdmission.admit(
+                    pdfDocumentRenderer.estimateDocumentCost(generation, Integer.MAX_VALUE))) {
+                regeneratePdf(generation, output);
             }
+        }, permit);
+    }
 
-            // PDF 바이트 배열로 변환
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            document.save(output);
-            return output.toByteArray();
+    /**
+     * JSON 데이터에서 PDF 재생성 후 저장소에 보관하고 응답으로 전송
+     */
+    private void regeneratePdf(GenerationSnapshot generation, OutputStream output) throws IOException {
+        Path pdfFile = Files.createTempFile("nametag-", ".pdf");
+        try {
+            try (OutputStream fileOutput = Files.newOutputStream(pdfFile)) {
+                pdfDocumentRenderer.render(generation, fileOutput, PdfDocumentRenderer.ProgressListener.NONE);
+            }
+            storePdfArtifact(generation.id(), pdfFile);
+            Files.copy(pdfFile, output);
+        } catch (Exception e) {
+            log.error("PDF 재생성 실패: {}", generation.id(), e);
+            throw e instanceof IOException ioException ? ioException : new IOException("PDF 생성에 실패했습니다", e);
+        } finally {
+            Files.deleteIfExists(pdfFile);
         }
     }
 
     /**
-     * 명찰 이미지 렌더링 (Java Graphics2D)
+     * 명찰별 파일(PNG 또는 PDF) ZIP 다운로드
+     * - 처음 요청 시 응답으로 스트리밍하면서 같은 내용을 저장소에 보관하고 이후에는 저장본 전송
+     * - downloadPdf와 같이 조회 후 스냅샷으로 트랜잭션 밖에서 렌더링
+     * - 저장본이 없으면 응답 전에 렌더링 예산을 잡고 (거절 시 429), 저장소 스트림은 본문 안에서만 엶
      */
-    private BufferedImage renderNametag(TemplateData template, PersonData person,
-                                         List<TextFieldData> textFields,
-                                         int targetWidth, int targetHeight,
-                                         Map<String, String> roleColors) {
-        try {
-            BufferedImage image = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = image.createGraphics();
-
-            // 안티앨리어싱
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-
-            // 기본 템플릿인 경우
-            if ("default-template".equals(template.getId())) {
-                renderDefaultTemplate(g2d, person, textFields, targetWidth, targetHeight, roleColors);
-            } else {
-                // 커스텀 템플릿: 이미지 로드 후 텍스트 오버레이
-                BufferedImage templateImage = loadTemplateImage(template);
-                if (templateImage != null) {
-                    g2d.drawImage(templateImage, 0, 0, targetWidth, targetHeight, null);
-                } else {
-                    // 이미지 로드 실패 시 흰 배경
-                    g2d.setColor(Color.WHITE);
-                    g2d.fillRect(0, 0, targetWidth, targetHeight);
+    public PdfDownload downloadBadgeArchive(UUID userId, UUID generationId, String format) {
+        if (!PdfDocumentRenderer.BADGE_FORMAT_PNG.equals(format) && !PdfDocumentRenderer.BADGE_FORMAT_PDF.equals(format)) {
+            throw new ValidationException("지원하지 않는 형식입니다: " + format);
+        }
+        GenerationSnapshot generation = GenerationSnapshot.of(getDownloadableGeneration(userId, generationId));
+
+        // 저장본이 없어 렌더링해야 하면 응답 전에 차례를 기다림 (거절되면 429)
+        RenderAdmissionController.Permit permit = hasStoredBadgeArchive(generation.id(), format)
+                ? null
+                : renderAdmission.admit(pdfDocumentRenderer.estimateBadgeArchiveCost(generation, format));
+
+        return new PdfDownload("nametags-" + format + ".zip", "application/zip", output -> {
+            // 저장본이 있으면 렌더링 없이 그대로 전송
+            InputStream stored = permit == null ? openStoredBadgeArchive(generation.id(), format) : null;
+            if (stored != null) {
+                try (stored) {
+                    stored.transferTo(output);
                 }
-
-                // 텍스트 필드 렌더링
-                renderTextFields(g2d, person, textFields, targetWidth, targetHeight);
+                return;
             }
 
-            g2d.dispose();
-            return image;
-        } catch (Exception e) {
-            log.error("명찰 렌더링 실패", e);
-            return null;
-        }
+            Path zipFile = null;
+            // 확인 후 저장본이 사라진 경우만 본문 안에서 차례를 기다림
+            try (RenderAdmissionController.Permit admitted = permit != null ? permit : renderAdmission.admit(
+                    pdfDocumentRenderer.estimateBadgeArchiveCost(generation, format))) {
+                zipFile = Files.createTempFile("nametag-badges-", ".zip");
+                try (OutputStream tee = new TeeOutputStream(output,
+                        new BufferedOutputStream(Files.newOutputStream(zipFile)))) {
+                    pdfDocumentRenderer.renderBadgeArchive(generation, format, tee);
+                }
+                storeBadgeArchive(generation.id(), format, zipFile);
+            } catch (Exception e) {
+                log.error("명찰별 ZIP 생성 실패: {}", generationId, e);
+                throw e instanceof IOException ioException ? ioException : new IOException("ZIP 생성에 실패했습니다", e);
+            } finally {
+                if (zipFile != null) {
+                    Files.deleteIfExists(zipFile);
+                }
+            }
+        }, permit);
     }
 
     /**
-     * 기본 템플릿 렌더링 (FE와 동일한 스타일)
+     * PDF 생성 작업 상태 조회
      */
-    private void renderDefaultTemplate(Graphics2D g2d, PersonData person,
-                                        List<TextFieldData> textFields,
-                                        int width, int height,
-                                        Map<String, String> roleColors) {
-        // 배경 그라데이션
-        GradientPaint gradient = new GradientPaint(0, 0, new Color(248, 250, 252),
-                width, height, new Color(226, 232, 240));
-        g2d.setPaint(gradient);
-        g2d.fillRect(0, 0, width, height);
-
-        // 내부 카드 영역
-        int padding = (int) (Math.min(width, height) * 0.03);
-        int cardX = padding;
-        int cardY = padding;
-        int cardWidth = width - padding * 2;
-        int cardHeight = height - padding * 2;
-        int borderRadius = (int) (Math.min(cardWidth, cardHeight) * 0.05);
-
-        // 카드 배경
-        g2d.setColor(Color.WHITE);
-        g2d.fillRoundRect(cardX, cardY, cardWidth, cardHeight, borderRadius, borderRadius);
-
-        // 카드 테두리
-        g2d.setColor(new Color(203, 213, 225));
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRoundRect(cardX, cardY, cardWidth, cardHeight, borderRadius, borderRadius);
-
-        // 상단 헤더
-        int headerHeight = (int) (cardHeight * 0.22);
-        Color headerColor = new Color(59, 130, 246); // 기본 파란색
-        g2d.setColor(headerColor);
-        g2d.fillRoundRect(cardX, cardY, cardWidth, headerHeight, borderRadius, borderRadius);
-        // 하단 직각 부분 채우기
-        g2d.fillRect(cardX, cardY + headerHeight - borderRadius, cardWidth, borderRadius);
-
-        // 헤더 텍스트
-        int headerFontSize = (int) Math.min(cardWidth * 0.08, headerHeight * 0.5);
-        g2d.setFont(new Font("SansSerif", Font.BOLD, headerFontSize));
-        g2d.setColor(Color.WHITE);
-        FontMetrics fm = g2d.getFontMetrics();
-        String headerText = "NAME TAG";
-        int textX = cardX + (cardWidth - fm.stringWidth(headerText)) / 2;
-        int textY = cardY + (headerHeight + fm.getAscent() - fm.getDescent()) / 2;
-        g2d.drawString(headerText, textX, textY);
-
-        // 텍스트 필드 렌더링
-        renderTextFields(g2d, person, textFields, width, height);
+    @Transactional(readOnly = true)
+    public PdfStatusResponse getPdfStatus(UUID userId, UUID generationId) {
+        Generation generation = generationRepository.findByIdAndUserId(generationId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("PDF 기록을 찾을 수 없습니다"));
+
+        Generation.GenerationStatus status = generation.getStatus();
+        PdfStatusResponse.PdfStatusResponseBuilder response = PdfStatusResponse.builder()
+                .id(generation.getId())
+                .status(status.name())
+                .pageCount(generation.getPageCount());
+
+        if (status == Generation.GenerationStatus.PROCESSING) {
+            // 다른 인스턴스가 맡은 작업은 heartbeat로 기록된 진행 상황
+            PdfGenerationWorker.JobProgress progress = pdfGenerationWorker.getProgress(generationId);
+            int storedPagesDone = generation.getPagesDone() != null ? generation.getPagesDone() : 0;
+            response.pagesDone(progress != null ? progress.pagesDone() : storedPagesDone)
+                    .totalPages(progress != null && progress.totalPages() > 0 ? progress.totalPages() : generation.getPageCount());
+        } else if (status == Generation.GenerationStatus.COMPLETED) {
+            response.pagesDone(generation.getPageCount())
+                    .totalPages(generation.getPageCount())
+                    .downloadUrl("/api/v1/pdf/" + generation.getId() + "/download");
+        } else {
+            response.pagesDone(0).totalPages(generation.getPageCount());
+        }
+
+        return response.build();
     }
 
     /**
-     * 텍스트 필드 렌더링
+     * 명찰 한 장 미리보기 (Generation 없이 바로 렌더링)
+     * - PDF 생성과 같은 렌더러를 사용하므로 인쇄 결과와 같은 배치/폰트
+     * - 기본은 96 DPI PNG, 해상도는 72~300 DPI (PdfPreviewRequest에서 검증)
+     * - 템플릿 imageUrl은 업로드된 템플릿 이미지만 허용
+     * - 렌더링 예산이 없으면 기다리지 않고 429 (응답 시간 목표가 짧은 요청이므로)
      */
-    private void renderTextFields(Graphics2D g2d, PersonData person,
-                                   List<TextFieldData> textFields,
-                                   int width, int height) {
-        if (textFields == null || person.getData() == null) return;
+    public PdfPreview previewNametag(PdfPreviewRequest request) {
+        String format = request.getFormat() != null
+                ? request.getFormat().toLowerCase(Locale.ROOT)
+                : PdfDocumentRenderer.BADGE_FORMAT_PNG;
+        if (!PdfDocumentRenderer.BADGE_FORMAT_PNG.equals(format) && !PdfDocumentRenderer.BADGE_FORMAT_PDF.equals(format)) {
+            throw new ValidationException("지원하지 않는 형식입니다: " + format);
+        }
 
-        for (TextFieldData field : textFields) {
-            String text = person.getData().get(field.getColumn());
-            if (text == null || text.isEmpty()) continue;
+        TemplateData template = TemplateBlobStore.withoutContentHash(request.getTemplate());
+        if (template.getImageUrl() != null && !templateBlobStore.isUploadedImageUrl(template.getImageUrl())) {
+            throw new ValidationException("허용되지 않은 템플릿 이미지 URL입니다");
+        }
+        int widthMm = request.getWidthMm() != null ? request.getWidthMm() : PREVIEW_DEFAULT_WIDTH_MM;
+        double heightMm;
+        if (request.getHeightMm() != null) {
+            heightMm = request.getHeightMm();
+        } else if (template.getWidth() != null && template.getHeight() != null && template.getWidth() > 0) {
+            heightMm = (double) widthMm * template.getHeight() / template.getWidth();
+        } else {
+            throw new ValidationException("명찰 높이 또는 템플릿 크기가 필요합니다");
+        }
+        if (widthMm <= 0 || heightMm <= 0 || widthMm > PREVIEW_MAX_SIZE_MM || heightMm > PREVIEW_MAX_SIZE_MM) {
+            throw new ValidationException("명찰 크기는 1~" + PREVIEW_MAX_SIZE_MM + "mm 사이여야 합니다");
+        }
+        int dpi = request.getDpi() != null ? request.getDpi() : PREVIEW_DEFAULT_DPI;
+        float width = (float) (widthMm * PdfDocumentRenderer.MM_TO_POINTS);
+        float height = (float) (heightMm * PdfDocumentRenderer.MM_TO_POINTS);
+
+        try (RenderAdmissionController.Permit permit = renderAdmission.tryAdmit(
+                pdfDocumentRenderer.estimatePreviewCost(width, height, dpi))) {
+            byte[] data = pdfDocumentRenderer.renderPreview(template, request.getTextFields(), request.getPerson(),
+                    width, height, dpi, format);
+            String contentType = PdfDocumentRenderer.BADGE_FORMAT_PDF.equals(format) ? "application/pdf" : "image/png";
+            return new PdfPreview(contentType, data);
+        } catch (IOException e) {
+            // 입력 검증은 위에서 끝났으므로 렌더링 실패는 서버 오류 (500)
+            throw new UncheckedIOException("미리보기 렌더링 실패", e);
+        }
+    }
 
-            StyleData style = field.getStyle();
-            int fontStyle = (style.getFontWeight() != null && style.getFontWeight() >= 700) ? Font.BOLD : Font.PLAIN;
-            int fontSize = style.getFontSize() != null ? style.getFontSize() : 16;
+    /**
+     * 렌더링 캐시, 수용 제어, DB 커넥션 풀 통계
+     */
+    public Map<String, Object> getRenderCacheStats() {
+        return Map.of(
+                "templateImages", templateImageCache.stats(),
+                "badges", badgeRenderCache.stats(),
+                "admission", renderAdmission.stats(),
+                "connectionPool", connectionPoolStats());
+    }
 
-            g2d.setFont(new Font("SansSerif", fontStyle, fontSize));
-            g2d.setColor(parseColor(style.getColor()));
+    /**
+     * Hikari 커넥션 풀 현황 (렌더링 중에도 active가 늘지 않는지 확인용)
+     */
+    private Map<String, Object> connectionPoolStats() {
+        if (!(dataSource instanceof HikariDataSource hikari) || hikari.getHikariPoolMXBean() == null) {
+            return Map.of();
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return Map.of(
+                "active", pool.getActiveConnections(),
+                "idle", pool.getIdleConnections(),
+                "total", pool.getTotalConnections(),
+                "awaiting", pool.getThreadsAwaitingConnection());
+    }
 
-            PositionData pos = field.getPosition();
-            int x = (int) (width * pos.getX() / 100);
-            int y = (int) (height * pos.getY() / 100);
+    @Transactional
+    public void deletePdfRecord(UUID userId, UUID generationId) {
+        Generation generation = generationRepository.findByIdAndUserId(generationId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("PDF 기록을 찾을 수 없습니다"));
 
-            // 중앙 정렬
-            FontMetrics fm = g2d.getFontMetrics();
-            x -= fm.stringWidth(text) / 2;
-            y += fm.getAscent() / 2;
+        generationRepository.delete(generation);
+        if (generation.getSharedComponent() != null) {
+            snapshotComponentRepository.release(generation.getSharedComponent().getHash(), LocalDateTime.now());
+        }
 
-            g2d.drawString(text, x, y);
+        if (generation.getPdfUrl() != null || generation.getZipUrl() != null) {
+            pdfArtifactStore.delete(generation.getId());
         }
     }
 
     /**
-     * 워터마크 추가 (대각선 반복 패턴)
+     * 다운로드 가능한 (만료되지 않고 생성 완료된) Generation 조회
      */
-    private void addWatermark(PDPageContentStream contentStream, PDFont font,
-                               String text, float pageWidth, float pageHeight) throws IOException {
-        contentStream.saveGraphicsState();
-
-        // 반투명 회색
-        contentStream.setNonStrokingColor(0.8f, 0.8f, 0.8f);
-
-        // 워터마크를 여러 위치에 반복 배치
-        float fontSize = 40;
-        float yStep = 150;
-        float xStep = 200;
-
-        for (float y = 100; y < pageHeight; y += yStep) {
-            for (float x = 50; x < pageWidth; x += xStep) {
-                contentStream.beginText();
-                contentStream.setFont(font, fontSize);
-                contentStream.newLineAtOffset(x, y);
-                try {
-                    contentStream.showText(text);
-                } catch (Exception e) {
-                    // 한글 폰트 문제 시 무시
-                    log.debug("워터마크 텍스트 렌더링 실패: {}", e.getMessage());
-                }
-                contentStream.endText();
-            }
-        }
+    private Generation getDownloadableGeneration(UUID userId, UUID generationId) {
+        Generation generation = generationRepository.findByIdAndUserId(generationId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("PDF 기록을 찾을 수 없습니다"));
 
-        contentStream.restoreGraphicsState();
+        if (generation.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new ValidationException("만료된 PDF 기록입니다");
+        }
+        if (generation.getStatus() == Generation.GenerationStatus.PROCESSING) {
+            throw new ValidationException("PDF를 생성 중입니다. 잠시 후 다시 시도해주세요");
+        }
+        if (generation.getStatus() == Generation.GenerationStatus.FAILED) {
+            throw new ValidationException("PDF 생성에 실패했습니다. 다시 생성해주세요");
+        }
+        return generation;
     }
 
     /**
-     * 템플릿 이미지 로드
+     * 저장된 명찰별 ZIP 존재 여부 (HEAD 요청만 하므로 응답 전에 호출해도 연결이 남지 않음)
      */
-    private BufferedImage loadTemplateImage(TemplateData template) {
+    private boolean hasStoredBadgeArchive(UUID generationId, String format) {
         try {
-            // dataUrl이 있으면 base64 디코딩
-            if (template.getDataUrl() != null && template.getDataUrl().startsWith("data:")) {
-                String base64 = template.getDataUrl().split(",")[1];
-                byte[] imageBytes = Base64.getDecoder().decode(base64);
-                return ImageIO.read(new ByteArrayInputStream(imageBytes));
-            }
-
-            // imageUrl에서 로드
-            if (template.getImageUrl() != null) {
-                return ImageIO.read(new URL(template.getImageUrl()));
-            }
-
-            return null;
+            return pdfArtifactStore.hasBadgeArchive(generationId, format);
         } catch (Exception e) {
-            log.error("템플릿 이미지 로드 실패: {}", template.getId(), e);
-            return null;
+            log.warn("저장된 명찰별 ZIP 확인 실패: {}", generationId, e);
+            return false;
         }
     }
 
     /**
-     * 한글 폰트 로드
+     * 저장된 명찰별 ZIP 열기 (아직 없으면 null → 렌더링)
      */
-    private PDFont loadFont(PDDocument document) throws IOException {
-        // 시스템 폰트 또는 리소스 폰트 사용
+    private InputStream openStoredBadgeArchive(UUID generationId, String format) {
         try {
-            // classpath에서 폰트 로드 시도
-            ClassPathResource fontResource = new ClassPathResource("fonts/NotoSansKR-Regular.ttf");
-            if (fontResource.exists()) {
-                try (InputStream is = fontResource.getInputStream()) {
-                    return PDType0Font.load(document, is);
-                }
-            }
+            return pdfArtifactStore.openBadgeArchive(generationId, format);
+        } catch (NoSuchKeyException e) {
+            return null;
         } catch (Exception e) {
-            log.warn("커스텀 폰트 로드 실패, 기본 폰트 사용");
+            log.warn("저장된 명찰별 ZIP 조회 실패, 다시 생성합니다: {}", generationId, e);
+            return null;
         }
-
-        // 기본 폰트 사용 (한글 미지원)
-        return PDType0Font.load(document,
-                PdfService.class.getResourceAsStream("/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf"));
     }
 
-    private int[] parseLayout(String layout) {
-        if (layout == null) return new int[]{2, 2};
-        String[] parts = layout.split("x");
-        if (parts.length != 2) return new int[]{2, 2};
+    private void storeBadgeArchive(UUID generationId, String format, Path zipFile) {
         try {
-            return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
-        } catch (NumberFormatException e) {
-            return new int[]{2, 2};
+            pdfArtifactStore.saveBadgeArchive(generationId, format, zipFile);
+        } catch (Exception e) {
+            log.warn("명찰별 ZIP 저장 실패: {}", generationId, e);
         }
     }
 
-    private int calculateBlankPages(PdfGenerateRequest request) {
-        ExportConfigData config = request.getExportConfig();
-        if (config.getBlankPagesPerTemplate() != null && !config.getBlankPagesPerTemplate().isEmpty()) {
-            return config.getBlankPagesPerTemplate().values().stream().mapToInt(Integer::intValue).sum();
+    /**
+     * 저장된 PDF 결과물 열기 (없거나 열 수 없으면 null → 재생성)
+     */
+    private InputStream openStoredPdf(GenerationSnapshot generation) {
+        if (generation.pdfUrl() == null) {
+            return null;
         }
-        return config.getBlankPages() != null ? config.getBlankPages() : 0;
-    }
-
-    private Color parseColor(String colorStr) {
-        if (colorStr == null) return Color.BLACK;
         try {
-            if (colorStr.startsWith("#")) {
-                return Color.decode(colorStr);
-            }
-            return Color.BLACK;
+            return pdfArtifactStore.openPdf(generation.id());
         } catch (Exception e) {
-            return Color.BLACK;
+            log.warn("저장된 PDF 조회 실패, 재생성합니다: {}", generation.id(), e);
+            return null;
         }
     }
 
-    private String toJson(Object obj) {
-        if (obj == null) return null;
+    /**
+     * 렌더링된 PDF를 저장소에 올리고 pdfUrl 기록 (실패해도 다운로드는 계속 진행)
+     */
+    private void storePdfArtifact(UUID generationId, Path pdfFile) {
         try {
-            return objectMapper.writeValueAsString(obj);
-        } catch (JsonProcessingException e) {
-            log.error("JSON 직렬화 실패", e);
-            return null;
+            String pdfUrl = pdfArtifactStore.savePdf(generationId, pdfFile);
+            generationRepository.updatePdfUrl(generationId, pdfUrl);
+        } catch (Exception e) {
+            log.warn("PDF 결과물 저장 실패: {}", generationId, e);
         }
     }
 
-    private <T> T fromJson(String json, Class<T> clazz) {
-        if (json == null) return null;
-        try {
-            return objectMapper.readValue(json, clazz);
-        } catch (JsonProcessingException e) {
-            log.error("JSON 역직렬화 실패", e);
-            return null;
+    /**
+     * 다운로드 형식 (ZIP으로 저장됐거나 대규모 행사 모드로 생성 중이면 zip)
+     */
+    private String fileTypeOf(Generation generation) {
+        return fileTypeOf(generation.getZipUrl(), generation.getPdfUrl(), generation.getNametagCount());
+    }
+
+    private String fileTypeOf(String zipUrl, String pdfUrl, Integer nametagCount) {
+        if (zipUrl != null) {
+            return FILE_TYPE_ZIP;
+        }
+        if (pdfUrl == null && nametagCount != null && pdfGenerationWorker.isLargeEvent(nametagCount)) {
+            return FILE_TYPE_ZIP;
         }
+        return FILE_TYPE_PDF;
     }
 
-    private <T> T fromJson(String json, com.fasterxml.jackson.databind.JavaType type) {
-        if (json == null) return null;
-        try {
-            return objectMapper.readValue(json, type);
-        } catch (JsonProcessingException e) {
-            log.error("JSON 역직렬화 실패", e);
-            return null;
+    private int calculateBlankPages(PdfGenerateRequest request) {
+        ExportConfigData config = request.getExportConfig();
+        if (config.getBlankPagesPerTemplate() != null && !config.getBlankPagesPerTemplate().isEmpty()) {
+            return config.getBlankPagesPerTemplate().values().stream().mapToInt(Integer::intValue).sum();
         }
+        return config.getBlankPages() != null ? config.getBlankPages() : 0;
     }
 
-    private PdfRecordResponse toRecordResponse(Generation g) {
+    private PdfRecordResponse toRecordResponse(GenerationSummary g) {
         long daysUntilExpiry = ChronoUnit.DAYS.between(LocalDateTime.now(), g.getExpiresAt());
         return PdfRecordResponse.builder()
                 .id(g.getId())
@@ -571,6 +600,8 @@ public class PdfService {
                 .watermarkText(g.getWatermarkText())
                 .createdAt(g.getCreatedAt())
                 .expiresAt(g.getExpiresAt())
+                .fileType(fileTypeOf(g.getZipUrl(), g.getPdfUrl(), g.getNametagCount()))
+                .renderStats(g.getRenderStatsData())
                 .daysUntilExpiry((int) Math.max(0, daysUntilExpiry))
                 .build();
     }
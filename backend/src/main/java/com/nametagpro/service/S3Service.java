@@ -7,12 +7,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.UUID;
 
@@ -57,6 +62,18 @@ public class S3Service {
         return getPublicUrl(key);
     }
 
+    public String uploadFile(Path path, String key, String contentType) {
+        PutObjectRequest request = PutObjectRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .contentType(contentType)
+            .build();
+
+        s3Client.putObject(request, RequestBody.fromFile(path));
+
+        return getPublicUrl(key);
+    }
+
     public String getPresignedUrl(String key, Duration duration) {
         GetObjectRequest getRequest = GetObjectRequest.builder()
             .bucket(bucketName)
@@ -80,6 +97,49 @@ public class S3Service {
         return s3Client.getObjectAsBytes(request).asByteArray();
     }
 
+    public InputStream openStream(String key) {
+        GetObjectRequest request = GetObjectRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .build();
+
+        return s3Client.getObject(request);
+    }
+
+    public boolean exists(String key) {
+        HeadObjectRequest request = HeadObjectRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .build();
+
+        try {
+            s3Client.headObject(request);
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        }
+    }
+
+    public void deleteFile(String key) {
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+            .bucket(bucketName)
+            .key(key)
+            .build();
+
+        s3Client.deleteObject(request);
+    }
+
+    /**
+     * 이 버킷의 공개 URL이면 객체 키, 아니면 null
+     */
+    public String getKeyFromPublicUrl(String url) {
+        String prefix = getPublicUrl("");
+        if (url == null || !url.startsWith(prefix) || url.length() == prefix.length()) {
+            return null;
+        }
+        return url.substring(prefix.length());
+    }
+
     private String getPublicUrl(String key) {
         if (endpoint != null && !endpoint.isEmpty()) {
             // LocalStack URL
@@ -0,0 +1,274 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.ExportConfigData;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 명찰 래스터 이미지 인코더
+ * - PDF 이미지 스트림(Flate 또는 DCT)을 BufferedImage에서 바로 만들어 PNG 인코딩/디코딩 왕복을 없앰
+ * - 인코딩은 워커 스레드에서, XObject 생성은 문서 스레드에서 재인코딩 없이 진행
+ * - 목표 파일 크기가 있으면 템플릿/크기별 첫 명찰로 JPEG 품질을 한 번 정해 이후 명찰에 적용
+ */
+public final class BadgeImageEncoder {
+
+    public enum Format {
+        LOSSLESS, JPEG, PNG
+    }
+
+    private static final float DEFAULT_JPEG_QUALITY = 0.85f;
+    private static final float MIN_JPEG_QUALITY = 0.3f;
+    private static final float MAX_JPEG_QUALITY = 0.95f;
+    private static final int CALIBRATION_STEPS = 6;
+
+    // 페이지/폰트/문서 구조 등 이미지 외 용량 여유분
+    private static final double TARGET_SIZE_HEADROOM = 0.9;
+
+    private final Format format;
+    private final float quality;
+    private final double bytesPerPixel;
+    private final Map<String, Float> calibratedQualities = new ConcurrentHashMap<>();
+
+    /**
+     * 인코딩된 이미지 스트림
+     * - decodeParms: Flate 예측 필터 설정 (없으면 null)
+     */
+    public record EncodedImage(Format format, byte[] data, int width, int height, COSDictionary decodeParms) {
+    }
+
+    private BadgeImageEncoder(Format format, float quality, double bytesPerPixel) {
+        this.format = format;
+        this.quality = quality;
+        this.bytesPerPixel = bytesPerPixel;
+    }
+
+    /**
+     * PNG 파일 출력용 인코더 (명찰별 PNG 내보내기)
+     */
+    public static BadgeImageEncoder png() {
+        return new BadgeImageEncoder(Format.PNG, 0, 0);
+    }
+
+    /**
+     * 무손실 인코더 (미리보기 PDF)
+     */
+    public static BadgeImageEncoder lossless() {
+        return new BadgeImageEncoder(Format.LOSSLESS, 0, 0);
+    }
+
+    /**
+     * 내보내기 설정에 따른 인코더
+     * - imageEncoding: lossless (기본), jpeg
+     * - jpegQuality: 1~100
+     * - targetFileSizeMb: 지정하면 JPEG로 인코딩하고 전체 이미지 픽셀 수에 맞춰 품질 자동 선택
+     *
+     * @param totalPixels 문서에 들어갈 명찰 이미지 픽셀 수 합계
+     */
+    public static BadgeImageEncoder of(ExportConfigData config, long totalPixels) {
+        Integer targetMb = config.getTargetFileSizeMb();
+        if (targetMb != null && targetMb > 0 && totalPixels > 0) {
+            double targetBytes = targetMb * 1024.0 * 1024.0 * TARGET_SIZE_HEADROOM;
+            return new BadgeImageEncoder(Format.JPEG, DEFAULT_JPEG_QUALITY, targetBytes / totalPixels);
+        }
+
+        String encoding = config.getImageEncoding() != null ? config.getImageEncoding().toLowerCase(Locale.ROOT) : "";
+        if ("jpeg".equals(encoding) || "jpg".equals(encoding)) {
+            float quality = config.getJpegQuality() != null
+                    ? Math.max(1, Math.min(100, config.getJpegQuality())) / 100f
+                    : DEFAULT_JPEG_QUALITY;
+            return new BadgeImageEncoder(Format.JPEG, quality, 0);
+        }
+        return new BadgeImageEncoder(Format.LOSSLESS, 0, 0);
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * 인코딩 결과에 영향을 주는 설정 (명찰 렌더링 캐시 키용)
+     */
+    public String cacheKey() {
+        return format + ":" + quality + ":" + bytesPerPixel;
+    }
+
+    /**
+     * 명찰 렌더링 캐시 사용 가능 여부
+     * - 목표 크기 모드는 JPEG 품질이 인코더 인스턴스마다 첫 명찰로 정해지므로
+     *   다른 요청의 결과와 섞이면 품질이 섞이고 용량 예산이 지켜지지 않음
+     */
+    public boolean isCacheable() {
+        return bytesPerPixel <= 0;
+    }
+
+    /**
+     * 이미지 인코딩 (워커 스레드에서 실행)
+     *
+     * @param calibrationKey 목표 크기 모드에서 같은 품질을 공유할 단위 (템플릿/크기)
+     */
+    public EncodedImage encode(BufferedImage image, String calibrationKey) throws IOException {
+        return switch (format) {
+            case PNG -> new EncodedImage(Format.PNG, encodePng(image), image.getWidth(), image.getHeight(), null);
+            case LOSSLESS -> encodeLossless(image);
+            case JPEG -> new EncodedImage(Format.JPEG, encodeJpeg(image, jpegQuality(image, calibrationKey)),
+                    image.getWidth(), image.getHeight(), null);
+        };
+    }
+
+    /**
+     * 인코딩된 스트림을 그대로 담은 XObject 생성 (문서 스레드에서 실행)
+     */
+    public static PDImageXObject toXObject(PDDocument document, EncodedImage image) throws IOException {
+        if (image.format() == Format.PNG) {
+            return PDImageXObject.createFromByteArray(document, image.data(), "nametag");
+        }
+
+        COSName filter = image.format() == Format.JPEG ? COSName.DCT_DECODE : COSName.FLATE_DECODE;
+        PDImageXObject xObject = new PDImageXObject(document, new ByteArrayInputStream(image.data()), filter,
+                image.width(), image.height(), 8, PDDeviceRGB.INSTANCE);
+        if (image.decodeParms() != null) {
+            xObject.getCOSObject().setItem(COSName.DECODE_PARMS, image.decodeParms());
+        }
+        return xObject;
+    }
+
+    /**
+     * 목표 크기 모드: 키별 첫 이미지로 픽셀당 예산에 맞는 최고 품질을 이분 탐색
+     */
+    private float jpegQuality(BufferedImage image, String calibrationKey) {
+        if (bytesPerPixel <= 0) {
+            return quality;
+        }
+        return calibratedQualities.computeIfAbsent(calibrationKey, k -> {
+            long budget = (long) (bytesPerPixel * image.getWidth() * image.getHeight());
+            float low = MIN_JPEG_QUALITY;
+            float high = MAX_JPEG_QUALITY;
+            float best = MIN_JPEG_QUALITY;
+            try {
+                if (encodeJpeg(image, high).length <= budget) {
+                    return high;
+                }
+                for (int i = 0; i < CALIBRATION_STEPS; i++) {
+                    float mid = (low + high) / 2;
+                    if (encodeJpeg(image, mid).length <= budget) {
+                        best = mid;
+                        low = mid;
+                    } else {
+                        high = mid;
+                    }
+                }
+            } catch (IOException e) {
+                return quality;
+            }
+            return best;
+        });
+    }
+
+    /**
+     * 무손실 인코딩 (RGB 8bit, PNG Up 예측 + Flate)
+     */
+    private EncodedImage encodeLossless(BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = rgbPixels(image);
+
+        int rowBytes = width * 3;
+        byte[] previous = new byte[rowBytes];
+        byte[] current = new byte[rowBytes];
+        byte[] filtered = new byte[rowBytes + 1];
+        filtered[0] = 2; // PNG Up 필터
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(rowBytes * height / 4);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(baos, deflater, 64 * 1024)) {
+            for (int y = 0; y < height; y++) {
+                int offset = y * width;
+                for (int x = 0, i = 0; x < width; x++) {
+                    int rgb = pixels[offset + x];
+                    current[i++] = (byte) (rgb >> 16);
+                    current[i++] = (byte) (rgb >> 8);
+                    current[i++] = (byte) rgb;
+                }
+                for (int i = 0; i < rowBytes; i++) {
+                    filtered[i + 1] = (byte) (current[i] - previous[i]);
+                }
+                out.write(filtered);
+
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        return new EncodedImage(Format.LOSSLESS, baos.toByteArray(), width, height, losslessDecodeParms(width));
+    }
+
+    /**
+     * 무손실 스트림의 Flate 예측 필터 설정 (PNG 예측, RGB 8bit)
+     */
+    static COSDictionary losslessDecodeParms(int width) {
+        COSDictionary decodeParms = new COSDictionary();
+        decodeParms.setInt(COSName.PREDICTOR, 15);
+        decodeParms.setInt(COSName.COLORS, 3);
+        decodeParms.setInt(COSName.BITS_PER_COMPONENT, 8);
+        decodeParms.setInt(COSName.COLUMNS, width);
+        return decodeParms;
+    }
+
+    private static int[] rgbPixels(BufferedImage image) {
+        // 렌더링한 명찰은 TYPE_INT_RGB라 픽셀 배열을 그대로 사용
+        if (image.getType() == BufferedImage.TYPE_INT_RGB
+                && image.getRaster().getDataBuffer() instanceof DataBufferInt dataBuffer
+                && dataBuffer.getNumBanks() == 1
+                && image.getRaster().getParent() == null) {
+            return dataBuffer.getData();
+        }
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ImageOutputStream ios = new MemoryCacheImageOutputStream(baos)) {
+                writer.setOutput(ios);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            return baos.toByteArray();
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(image, "PNG", baos);
+        return baos.toByteArray();
+    }
+}
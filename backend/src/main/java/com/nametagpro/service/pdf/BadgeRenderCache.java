@@ -0,0 +1,273 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.service.PdfService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 인코딩된 명찰 이미지 캐시 (내용 주소 방식)
+ * - 키는 (템플릿, 필드 스타일, 명단 값, 크기, 인코딩)의 해시라 같은 명찰은 생성 요청과 관계없이 한 번만 렌더링
+ * - 메모리(LRU, pdf.badge-cache.max-bytes) → 디스크(pdf.badge-cache.dir) 순으로 조회
+ * - 디스크 용량(pdf.badge-cache.disk-max-bytes)은 주기적으로 오래된 파일부터 정리 (0이면 디스크 캐시 사용 안 함)
+ * - 디스크 캐시는 명단 값(이름 등)이 담긴 명찰을 로컬 디스크에 남기므로 기본값은 사용 안 함 (설정 시에만 사용)
+ * - 디스크 파일은 기록 후 pdf.badge-cache.disk-max-age-hours가 지나면 삭제
+ *   (Generation 보관 기간보다 길게 설정해도 보관 기간으로 제한, 삭제/만료된 기록의 명찰이 그 이상 남지 않음)
+ */
+@Component
+@Slf4j
+public class BadgeRenderCache {
+
+    // 직렬화 형식이 바뀌면 올려서 이전 디스크 캐시를 무시 (v2: 기록 시각 추가)
+    private static final int FORMAT_VERSION = 2;
+
+    private static final Duration MAX_DISK_AGE = Duration.ofDays(PdfService.EXPIRY_DAYS);
+
+    @FunctionalInterface
+    public interface BadgeRenderer {
+        List<RasterStrip> render() throws IOException;
+    }
+
+    private final WeightedLruCache<String, List<RasterStrip>> memory;
+    private final Path directory;
+    private final long diskMaxBytes;
+    private final long diskMaxAgeMillis;
+
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong renders = new AtomicLong();
+
+    public BadgeRenderCache(@Value("${pdf.badge-cache.max-bytes:134217728}") long maxBytes,
+                            @Value("${pdf.badge-cache.dir:}") String directory,
+                            @Value("${pdf.badge-cache.disk-max-bytes:0}") long diskMaxBytes,
+                            @Value("${pdf.badge-cache.disk-max-age-hours:168}") long diskMaxAgeHours) {
+        this.memory = new WeightedLruCache<>(maxBytes, BadgeRenderCache::weight);
+        this.directory = diskMaxBytes > 0 ? initDirectory(directory) : null;
+        this.diskMaxBytes = diskMaxBytes;
+        this.diskMaxAgeMillis = Math.min(Duration.ofHours(Math.max(1, diskMaxAgeHours)).toMillis(),
+                MAX_DISK_AGE.toMillis());
+    }
+
+    public record Stats(WeightedLruCache.Stats memory, long diskHits, long renders, boolean diskEnabled) {
+    }
+
+    /**
+     * 캐시된 명찰 반환, 없으면 렌더링 후 메모리/디스크에 저장
+     * - 같은 키를 동시에 요청하면 한 번만 렌더링
+     */
+    public List<RasterStrip> get(String key, BadgeRenderer renderer) throws IOException {
+        try {
+            return memory.get(key, k -> {
+                List<RasterStrip> strips = readDisk(k);
+                if (strips != null) {
+                    diskHits.incrementAndGet();
+                    return strips;
+                }
+                try {
+                    strips = renderer.render();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                renders.incrementAndGet();
+                if (strips != null) {
+                    writeDisk(k, strips);
+                }
+                return strips;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(memory.stats(), diskHits.get(), renders.get(), directory != null);
+    }
+
+    /**
+     * 디스크 캐시 정리
+     * - 보관 기간이 지났거나 이전 형식인 파일 삭제
+     * - 용량을 넘으면 오래 사용하지 않은 파일부터 삭제
+     */
+    @Scheduled(fixedDelayString = "${pdf.badge-cache.trim-interval-ms:600000}")
+    public void trimDisk() {
+        if (directory == null) {
+            return;
+        }
+        record CacheFile(Path path, long size, FileTime lastModified) {
+        }
+
+        List<CacheFile> files = new ArrayList<>();
+        int expired = 0;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                try {
+                    if (isExpired(path)) {
+                        Files.deleteIfExists(path);
+                        expired++;
+                        continue;
+                    }
+                    files.add(new CacheFile(path, Files.size(path), Files.getLastModifiedTime(path)));
+                } catch (IOException ignored) {
+                    // 정리 중 삭제된 파일
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("명찰 디스크 캐시 조회 실패: {}", directory, e);
+            return;
+        }
+        if (expired > 0) {
+            log.info("명찰 디스크 캐시 보관 기간 만료: {}개 삭제", expired);
+        }
+
+        long total = files.stream().mapToLong(CacheFile::size).sum();
+        if (total <= diskMaxBytes) {
+            return;
+        }
+        files.sort(Comparator.comparing(CacheFile::lastModified));
+        int deleted = 0;
+        for (CacheFile file : files) {
+            if (total <= diskMaxBytes) break;
+            try {
+                Files.deleteIfExists(file.path());
+                total -= file.size();
+                deleted++;
+            } catch (IOException e) {
+                log.debug("명찰 디스크 캐시 파일 삭제 실패: {}", file.path());
+            }
+        }
+        log.info("명찰 디스크 캐시 정리: {}개 삭제", deleted);
+    }
+
+    private Path initDirectory(String directory) {
+        Path path = directory == null || directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "nametag-badge-cache")
+                : Path.of(directory);
+        try {
+            Files.createDirectories(path);
+            return path;
+        } catch (IOException e) {
+            log.warn("명찰 디스크 캐시 비활성화 (디렉터리 생성 실패): {}", path, e);
+            return null;
+        }
+    }
+
+    /**
+     * 보관 기간이 지났거나 기록 시각을 읽을 수 없는 파일 (쓰는 중인 임시 파일 제외)
+     */
+    private boolean isExpired(Path path) throws IOException {
+        if (path.getFileName().toString().endsWith(".tmp")) {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(path).toMillis() > diskMaxAgeMillis;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() != FORMAT_VERSION || System.currentTimeMillis() - in.readLong() > diskMaxAgeMillis;
+        } catch (EOFException e) {
+            return true;
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".bin");
+    }
+
+    private List<RasterStrip> readDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path path = pathOf(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            if (System.currentTimeMillis() - in.readLong() > diskMaxAgeMillis) {
+                // 보관 기간이 지난 명찰은 다시 렌더링 (파일은 정리 작업에서 삭제)
+                return null;
+            }
+            int count = in.readInt();
+            List<RasterStrip> strips = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                BadgeImageEncoder.Format format = BadgeImageEncoder.Format.values()[in.readByte()];
+                int width = in.readInt();
+                int height = in.readInt();
+                int y0 = in.readInt();
+                int y1 = in.readInt();
+                int totalHeight = in.readInt();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                BadgeImageEncoder.EncodedImage image = new BadgeImageEncoder.EncodedImage(format, data, width, height,
+                        format == BadgeImageEncoder.Format.LOSSLESS ? BadgeImageEncoder.losslessDecodeParms(width) : null);
+                strips.add(new RasterStrip(image, y0, y1, totalHeight));
+            }
+            // 최근 사용 시각 갱신 (디스크 정리 순서용)
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return strips;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.debug("명찰 디스크 캐시 읽기 실패: {}", key, e);
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, List<RasterStrip> strips) {
+        if (directory == null) {
+            return;
+        }
+        Path path = pathOf(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(path.getParent());
+            // 다른 프로세스/스레드가 쓰다 만 파일을 읽지 않도록 임시 파일에 쓴 뒤 이동
+            temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(strips.size());
+                for (RasterStrip strip : strips) {
+                    BadgeImageEncoder.EncodedImage image = strip.image();
+                    out.writeByte(image.format().ordinal());
+                    out.writeInt(image.width());
+                    out.writeInt(image.height());
+                    out.writeInt(strip.y0());
+                    out.writeInt(strip.y1());
+                    out.writeInt(strip.totalHeight());
+                    out.writeInt(image.data().length);
+                    out.write(image.data());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("명찰 디스크 캐시 쓰기 실패: {}", key, e);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // 다음 정리에서 삭제
+                }
+            }
+        }
+    }
+
+    private static long weight(List<RasterStrip> strips) {
+        // 스트립당 객체 오버헤드 포함
+        return strips.stream().mapToLong(strip -> strip.sizeBytes() + 64).sum();
+    }
+}
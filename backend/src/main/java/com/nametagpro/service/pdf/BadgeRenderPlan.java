@@ -0,0 +1,200 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.PersonData;
+import com.nametagpro.dto.request.PdfGenerateRequest.PositionData;
+import com.nametagpro.dto.request.PdfGenerateRequest.StyleData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import com.nametagpro.dto.request.PdfGenerateRequest.TextFieldData;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * (템플릿, 텍스트 필드, 명찰 픽셀 크기)별로 미리 계산해 둔 렌더링 계획
+ * - 색상, 폰트, FontMetrics, 필드 기준 좌표를 한 번만 계산
+ * - 명단 데이터와 무관한 배경도 한 번만 준비
+ * - 불변 객체라 여러 워커 스레드가 동시에 사용 가능 (명찰마다 글자 측정/그리기만 수행)
+ * - 고해상도 명찰은 가로 스트립 단위로 나눠 그릴 수 있음
+ */
+public final class BadgeRenderPlan {
+
+    private static final int DEFAULT_FONT_SIZE = 16;
+
+    private final int width;
+    private final int height;
+    private final TemplateBackgroundRegistry.BackgroundPainter background;
+    private final List<FieldPlan> fields;
+    private final String fingerprint;
+
+    /**
+     * 텍스트 필드 하나의 계산 결과
+     * - anchorX/anchorY: 래스터 좌표 (필드 중심 기준점, 픽셀)
+     * - relativeX/relativeY: 명찰 크기 대비 비율 (벡터 모드용)
+     * - fontSize: 10px/mm 기준 픽셀 크기 (스타일에 지정된 값, awtFont는 DPI에 맞춰 확대된 크기)
+     */
+    public record FieldPlan(String column, Color color, Font awtFont, FontMetrics metrics,
+                            FontRegistry.FontFace face, boolean syntheticBold, int fontSize,
+                            int anchorX, int anchorY, double relativeX, double relativeY) {
+    }
+
+    private BadgeRenderPlan(int width, int height, TemplateBackgroundRegistry.BackgroundPainter background,
+                            List<FieldPlan> fields) {
+        this.width = width;
+        this.height = height;
+        this.background = background;
+        this.fields = fields;
+        this.fingerprint = fingerprint(width, height, fields);
+    }
+
+    /**
+     * 렌더링 계획 생성
+     *
+     * @param fontScale  스타일 글자 크기(10px/mm 기준)를 실제 해상도로 바꾸는 배율
+     * @param background 명찰 크기에 맞춰 배경을 그리는 함수 (로드 실패 시 null → 흰 배경)
+     */
+    public static BadgeRenderPlan compile(List<TextFieldData> textFields, int width, int height, float fontScale,
+                                          TemplateBackgroundRegistry.BackgroundPainter background,
+                                          FontRegistry fontRegistry) {
+        List<FieldPlan> fields = new ArrayList<>();
+        if (textFields != null) {
+            // FontMetrics는 실제 렌더링과 같은 힌트의 Graphics에서 계산
+            BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = scratch.createGraphics();
+            applyRenderingHints(g2d);
+
+            for (TextFieldData field : textFields) {
+                StyleData style = field.getStyle();
+                int fontSize = style.getFontSize() != null ? style.getFontSize() : DEFAULT_FONT_SIZE;
+                FontRegistry.FontFace face = fontRegistry.resolve(style.getFontFamily(), style.getFontWeight());
+                Font font = fontRegistry.awtFont(style.getFontFamily(), style.getFontWeight(), fontSize * fontScale);
+                boolean syntheticBold = FontRegistry.isBold(style.getFontWeight()) && !face.bold();
+
+                PositionData pos = field.getPosition();
+                fields.add(new FieldPlan(
+                        field.getColumn(),
+                        parseColor(style.getColor()),
+                        font,
+                        g2d.getFontMetrics(font),
+                        face,
+                        syntheticBold,
+                        fontSize,
+                        (int) (width * pos.getX() / 100),
+                        (int) (height * pos.getY() / 100),
+                        pos.getX() / 100,
+                        pos.getY() / 100));
+            }
+            g2d.dispose();
+        }
+        return new BadgeRenderPlan(width, height, background, Collections.unmodifiableList(fields));
+    }
+
+    public static String cacheKey(TemplateData template, int width, int height) {
+        return template.getId() + "@" + width + "x" + height;
+    }
+
+    public List<FieldPlan> getFields() {
+        return fields;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 배경 없이 흰 바탕으로 그리는지 (템플릿 이미지 로드 실패)
+     */
+    public boolean hasBackground() {
+        return background != null;
+    }
+
+    /**
+     * 렌더링 결과에 영향을 주는 필드 설정 요약 (명찰 렌더링 캐시 키용)
+     * - 필드 순서, 열 이름, 색상, 실제 폰트/크기, 기준 좌표
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 한 사람의 명찰 이미지 렌더링
+     */
+    public BufferedImage render(PersonData person) {
+        return renderStrip(person, 0, height);
+    }
+
+    /**
+     * 명찰의 가로 스트립 하나 렌더링 (y0 이상 y1 미만 픽셀 행)
+     * - 명찰 전체 좌표계에서 그린 뒤 스트립 영역만 남기므로 이어 붙이면 전체 렌더링과 같음
+     */
+    public BufferedImage renderStrip(PersonData person, int y0, int y1) {
+        BufferedImage image = new BufferedImage(width, y1 - y0, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        applyRenderingHints(g2d);
+        g2d.translate(0, -y0);
+
+        if (background != null) {
+            background.paint(g2d, width, height);
+        } else {
+            // 이미지 로드 실패 시 흰 배경
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, width, height);
+        }
+
+        if (person.getData() != null) {
+            for (FieldPlan field : fields) {
+                String text = person.getData().get(field.column());
+                if (text == null || text.isEmpty()) continue;
+
+                g2d.setFont(field.awtFont());
+                g2d.setColor(field.color());
+
+                // 중앙 정렬
+                int x = field.anchorX() - field.metrics().stringWidth(text) / 2;
+                int y = field.anchorY() + field.metrics().getAscent() / 2;
+
+                g2d.drawString(text, x, y);
+            }
+        }
+
+        g2d.dispose();
+        return image;
+    }
+
+    private static String fingerprint(int width, int height, List<FieldPlan> fields) {
+        StringBuilder sb = new StringBuilder().append(width).append('x').append(height);
+        for (FieldPlan field : fields) {
+            sb.append('|').append(field.column())
+                    .append(';').append(Integer.toHexString(field.color().getRGB()))
+                    .append(';').append(field.face().name())
+                    .append(';').append(field.awtFont().getStyle())
+                    .append(';').append(field.awtFont().getSize2D())
+                    .append(';').append(field.anchorX())
+                    .append(';').append(field.anchorY());
+        }
+        return sb.toString();
+    }
+
+    static void applyRenderingHints(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    private static Color parseColor(String colorStr) {
+        if (colorStr == null) return Color.BLACK;
+        try {
+            if (colorStr.startsWith("#")) {
+                return Color.decode(colorStr);
+            }
+            return Color.BLACK;
+        } catch (Exception e) {
+            return Color.BLACK;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.nametagpro.service.pdf;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 기반 콘텐츠 해시 (캐시 키용)
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(newDigest().digest(data));
+    }
+
+    public static String sha256Hex(String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 모든 JVM에서 SHA-256 지원이 보장됨
+            throw new IllegalStateException(e);
+        }
+    }
+}
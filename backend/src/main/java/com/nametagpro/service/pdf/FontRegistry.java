@@ -0,0 +1,248 @@
+package com.nametagpro.service.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 명찰 렌더링용 폰트 레지스트리
+ * - 폰트 파일은 프로세스당 한 번만 읽고, AWT 폰트도 한 번만 파싱해서 크기/굵기별로 캐시
+ * - StyleData.fontFamily / fontWeight를 등록된 폰트로 해석 (없으면 기본 폰트)
+ * - Liberation Sans는 PDFBox에 포함된 라틴 전용 폰트로 항상 사용 가능 (한글 미지원)
+ * - PDF에는 문서별로 사용한 글자만 서브셋으로 임베드
+ * - 폰트 파일은 저장소에 포함하지 않으므로 pdf.fonts.dir 디렉터리(없으면 classpath fonts/)에서 읽음
+ * - 시작 시 파일이 없으면 오류 로그 (pdf.fonts.required면 시작 실패, 운영 프로필 기본값), 한글은 기본 폰트로 표시할 수 없음
+ */
+@Component
+@Slf4j
+public class FontRegistry {
+
+    private static final String DEFAULT_FAMILY = "noto sans kr";
+
+    // 패밀리별 폰트 파일 이름 (regular, bold)
+    private static final Map<String, String[]> FAMILY_FILES = Map.of(
+            "noto sans kr", new String[]{"NotoSansKR-Regular.ttf", "NotoSansKR-Bold.ttf"},
+            "pretendard", new String[]{"Pretendard-Regular.ttf", "Pretendard-Bold.ttf"}
+    );
+
+    // PDFBox 내장 폰트로 렌더링하는 라틴 전용 패밀리 (폰트 파일 불필요)
+    private static final String BUILTIN_LATIN_FAMILY = "liberation sans";
+
+    private static final String CLASSPATH_DIR = "fonts/";
+
+    // 한글 폰트가 없을 때 사용하는 PDFBox 내장 폰트 (한글 미지원)
+    private static final String FALLBACK_RESOURCE = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+    private final Map<String, Optional<FontFace>> faces = new ConcurrentHashMap<>();
+    private final Map<String, Font> derivedFonts = new ConcurrentHashMap<>();
+
+    private volatile FontFace fallbackFace;
+    private volatile boolean fallbackWarned;
+
+    private final Path fontsDir;
+    private final boolean fontsRequired;
+
+    public FontRegistry(@Value("${pdf.fonts.dir:}") String fontsDir,
+                        @Value("${pdf.fonts.required:false}") boolean fontsRequired) {
+        this.fontsDir = fontsDir.isBlank() ? null : Path.of(fontsDir);
+        this.fontsRequired = fontsRequired;
+    }
+
+    /**
+     * 로드된 폰트 파일 하나
+     * - bold: 파일 자체가 Bold 서체인지 (아니면 굵게 표현할 때 합성)
+     */
+    public record FontFace(String name, byte[] data, Font awtFont, boolean bold) {
+    }
+
+    public static boolean isBold(Integer fontWeight) {
+        return fontWeight != null && fontWeight >= 700;
+    }
+
+    /**
+     * 시작 시 등록된 폰트 파일 확인
+     * - 없으면 해당 패밀리는 기본 폰트로 렌더링되고, 기본 폰트는 한글 글리프가 없어 벡터 PDF의 한글 텍스트가 실패함
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyFonts() {
+        List<String> missing = new ArrayList<>();
+        FAMILY_FILES.values().forEach(files -> {
+            for (int i = 0; i < files.length; i++) {
+                if (load(files[i], i == 1) == null) {
+                    missing.add(files[i]);
+                }
+            }
+        });
+        if (missing.isEmpty()) {
+            return;
+        }
+        String message = String.format("폰트 파일이 없습니다: %s (pdf.fonts.dir=%s, classpath %s) - 한글 텍스트를 렌더링할 수 없습니다",
+                missing, fontsDir != null ? fontsDir : "", CLASSPATH_DIR);
+        if (fontsRequired) {
+            throw new IllegalStateException(message);
+        }
+        log.error(message);
+    }
+
+    /**
+     * fontFamily / fontWeight에 맞는 폰트 (등록되지 않은 패밀리는 기본 폰트)
+     */
+    public FontFace resolve(String fontFamily, Integer fontWeight) {
+        boolean bold = isBold(fontWeight);
+        String family = normalizeFamily(fontFamily);
+        if (BUILTIN_LATIN_FAMILY.equals(family)) {
+            return getFallbackFace();
+        }
+        String[] resources = FAMILY_FILES.getOrDefault(family, FAMILY_FILES.get(DEFAULT_FAMILY));
+
+        if (bold) {
+            FontFace face = load(resources[1], true);
+            if (face != null) return face;
+        }
+        FontFace face = load(resources[0], false);
+        if (face != null) return face;
+
+        // 요청한 패밀리가 없으면 기본 패밀리로
+        if (!resources[0].equals(FAMILY_FILES.get(DEFAULT_FAMILY)[0])) {
+            return resolve(DEFAULT_FAMILY, fontWeight);
+        }
+        if (!fallbackWarned) {
+            fallbackWarned = true;
+            log.warn("커스텀 폰트 로드 실패, 기본 폰트 사용");
+        }
+        return getFallbackFace();
+    }
+
+    /**
+     * 래스터 렌더링용 AWT 폰트 (패밀리/굵기/크기별 캐시)
+     */
+    public Font awtFont(String fontFamily, Integer fontWeight, float size) {
+        FontFace face = resolve(fontFamily, fontWeight);
+        boolean syntheticBold = isBold(fontWeight) && !face.bold();
+        String key = face.name() + "|" + syntheticBold + "|" + size;
+        return derivedFonts.computeIfAbsent(key,
+                k -> face.awtFont().deriveFont(syntheticBold ? Font.BOLD : Font.PLAIN, size));
+    }
+
+    /**
+     * 문서별 PDF 폰트 캐시 생성
+     */
+    public DocumentFonts forDocument(PDDocument document) {
+        return new DocumentFonts(document);
+    }
+
+    /**
+     * 문서 하나에서 사용하는 PDF 폰트
+     * - 폰트 파일 바이트는 레지스트리에서 공유하고, 문서마다 서브셋 임베드용 PDType0Font를 한 번씩 생성
+     * - PDFBox의 TrueTypeFont는 스레드 안전하지 않아 문서 간에는 공유하지 않음
+     */
+    public class DocumentFonts {
+
+        private final PDDocument document;
+        private final Map<String, PDFont> fonts = new HashMap<>();
+
+        private DocumentFonts(PDDocument document) {
+            this.document = document;
+        }
+
+        public PDFont get(FontFace face) throws IOException {
+            PDFont font = fonts.get(face.name());
+            if (font == null) {
+                TrueTypeFont ttf = new TTFParser().parse(new RandomAccessReadBuffer(face.data()));
+                font = PDType0Font.load(document, ttf, true);
+                fonts.put(face.name(), font);
+            }
+            return font;
+        }
+
+        public PDFont get(String fontFamily, Integer fontWeight) throws IOException {
+            return get(resolve(fontFamily, fontWeight));
+        }
+    }
+
+    private FontFace load(String fileName, boolean bold) {
+        return faces.computeIfAbsent(fileName, f -> {
+            try {
+                byte[] data = readFontFile(f);
+                if (data == null) {
+                    return Optional.empty();
+                }
+                Font awtFont = Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(data));
+                log.info("폰트 로드: {}", f);
+                return Optional.of(new FontFace(f, data, awtFont, bold));
+            } catch (IOException | FontFormatException e) {
+                log.warn("폰트 로드 실패: {}", f, e);
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    // pdf.fonts.dir 우선, 없으면 classpath (둘 다 없으면 null)
+    private byte[] readFontFile(String fileName) throws IOException {
+        if (fontsDir != null) {
+            Path path = fontsDir.resolve(fileName);
+            if (Files.isRegularFile(path)) {
+                return Files.readAllBytes(path);
+            }
+        }
+        ClassPathResource resource = new ClassPathResource(CLASSPATH_DIR + fileName);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream is = resource.getInputStream()) {
+            return is.readAllBytes();
+        }
+    }
+
+    private FontFace getFallbackFace() {
+        FontFace face = fallbackFace;
+        if (face == null) {
+            synchronized (this) {
+                if (fallbackFace == null) {
+                    // 래스터/벡터 모드가 같은 글리프와 메트릭을 쓰도록 임베드할 바이트로 AWT 폰트도 생성
+                    try (InputStream is = FontRegistry.class.getResourceAsStream(FALLBACK_RESOURCE)) {
+                        byte[] data = is.readAllBytes();
+                        Font awtFont = Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(data));
+                        fallbackFace = new FontFace(FALLBACK_RESOURCE, data, awtFont, false);
+                    } catch (IOException | FontFormatException | NullPointerException e) {
+                        throw new IllegalStateException("기본 폰트를 로드할 수 없습니다", e);
+                    }
+                }
+                face = fallbackFace;
+            }
+        }
+        return face;
+    }
+
+    private String normalizeFamily(String fontFamily) {
+        if (fontFamily == null || fontFamily.isBlank()) {
+            return DEFAULT_FAMILY;
+        }
+        // CSS font-family 목록이면 첫 번째 패밀리 사용
+        String first = fontFamily.split(",")[0].trim().replace("\"", "").replace("'", "");
+        return first.toLowerCase(Locale.ROOT);
+    }
+}
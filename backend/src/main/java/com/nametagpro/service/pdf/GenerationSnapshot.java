@@ -0,0 +1,48 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.entity.Generation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 렌더링에 필요한 Generation 값만 복사한 불변 객체
+ * - 짧은 조회 트랜잭션에서 만들고 렌더링은 DB 커넥션 없이 이 값으로만 진행
+ * - 지연 로딩 연관(user, project)은 id만 복사
+ * - 렌더링 입력은 snapshotData + sharedData(GenerationSnapshotCodec), 아직 이전되지 않은 기록은 JSON 필드
+ */
+public record GenerationSnapshot(UUID id,
+                                 UUID userId,
+                                 LocalDateTime createdAt,
+                                 Integer nametagCount,
+                                 String pdfUrl,
+                                 byte[] snapshotData,
+                                 String sharedHash,
+                                 byte[] sharedData,
+                                 String templateData,
+                                 String personsData,
+                                 String textFieldsData,
+                                 String exportConfigData,
+                                 String pageHashesData,
+                                 boolean watermarkEnabled,
+                                 String watermarkText) {
+
+    public static GenerationSnapshot of(Generation generation) {
+        return new GenerationSnapshot(
+                generation.getId(),
+                generation.getUser() != null ? generation.getUser().getId() : null,
+                generation.getCreatedAt(),
+                generation.getNametagCount(),
+                generation.getPdfUrl(),
+                generation.getSnapshotData(),
+                generation.getSharedComponent() != null ? generation.getSharedComponent().getHash() : null,
+                generation.getSharedComponent() != null ? generation.getSharedComponent().getData() : null,
+                generation.getTemplateData(),
+                generation.getPersonsData(),
+                generation.getTextFieldsData(),
+                generation.getExportConfigData(),
+                generation.getPageHashesData(),
+                Boolean.TRUE.equals(generation.getWatermarkEnabled()),
+                generation.getWatermarkText());
+    }
+}
@@ -0,0 +1,626 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Generation 렌더링 입력(템플릿, 명단, 필드 설정, 내보내기 설정, 역할 매핑/색상)의 바이너리 스냅샷 형식
+ * - 헤더: 매직 "NTGS", 형식 버전, 압축 방식 (0 = 없음, 1 = deflate)
+ * - 본문: 템플릿 → 필드 설정 → 내보내기 설정 → 역할 매핑/색상 → 명단 인원 수 → 컬럼 사전 → 명단
+ * - 문자열은 길이(varint) + UTF-8, 명단 값의 컬럼 키는 사전 인덱스로 저장
+ * - 명단은 앞쪽 섹션만 읽은 뒤 한 명씩 디코딩할 수 있음 (인원 수/템플릿만 필요한 경우 명단을 읽지 않음)
+ * - DTO 필드가 바뀌면 FORMAT_VERSION을 올리고 이전 버전 디코딩을 유지
+ *   (v2: 템플릿 contentHash 추가, v3: 명단 앞 섹션을 공유 구성요소로 분리)
+ * - 공유 구성요소: 매직 "NTGC" + 같은 헤더, 본문은 명단 앞 섹션 (여러 Generation이 내용 해시로 공유)
+ */
+public final class GenerationSnapshotCodec {
+
+    private static final byte[] MAGIC = {'N', 'T', 'G', 'S'};
+    private static final byte[] SHARED_MAGIC = {'N', 'T', 'G', 'C'};
+    private static final int FORMAT_VERSION = 2;
+    private static final int FORMAT_VERSION_NO_CONTENT_HASH = 1;
+    private static final int FORMAT_VERSION_SHARED = 3;
+    private static final int SHARED_FORMAT_VERSION = 1;
+    private static final int COMPRESSION_NONE = 0;
+    private static final int COMPRESSION_DEFLATE = 1;
+
+    private GenerationSnapshotCodec() {
+    }
+
+    /**
+     * 공유 구성요소 (내용 해시는 압축 전 본문 기준이므로 압축 구현과 무관하게 같은 설정이면 같은 해시)
+     * - blobHashes: 템플릿이 참조하는 TemplateBlobStore 이미지 해시 (이미지 정리 시 참조 확인용)
+     */
+    public record SharedComponent(String hash, byte[] data, List<String> blobHashes) {
+    }
+
+    /**
+     * 생성 요청 데이터를 압축된 스냅샷 하나로 인코딩 (공유 구성요소 없이 단독으로 디코딩)
+     */
+    public static byte[] encode(List<TemplateData> templates, List<PersonData> persons,
+                                List<TextFieldData> textFields, ExportConfigData exportConfig,
+                                Map<String, String> roleMappings, Map<String, String> roleColors) {
+        return compress(MAGIC, FORMAT_VERSION, out -> {
+            writeShared(out, templates, textFields, exportConfig, roleMappings, roleColors);
+            writePersons(out, persons != null ? persons : List.of());
+        });
+    }
+
+    /**
+     * 명단 앞 섹션(템플릿, 필드 설정, 내보내기 설정, 역할 매핑/색상)을 공유 구성요소로 인코딩
+     */
+    public static SharedComponent encodeShared(List<TemplateData> templates, List<TextFieldData> textFields,
+                                               ExportConfigData exportConfig, Map<String, String> roleMappings,
+                                               Map<String, String> roleColors) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (Output out = new Output(body)) {
+            writeShared(out, templates, textFields, exportConfig, roleMappings, roleColors);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] raw = body.toByteArray();
+        byte[] data = compress(SHARED_MAGIC, SHARED_FORMAT_VERSION, out -> out.writeRaw(raw));
+        return new SharedComponent(ContentHash.sha256Hex(raw), data, blobHashes(templates));
+    }
+
+    private static List<String> blobHashes(List<TemplateData> templates) {
+        if (templates == null) {
+            return List.of();
+        }
+        return templates.stream()
+                .map(TemplateData::getContentHash)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * 명단만 압축된 스냅샷으로 인코딩 (디코딩 시 encodeShared 결과가 필요)
+     */
+    public static byte[] encodePersons(List<PersonData> persons) {
+        return compress(MAGIC, FORMAT_VERSION_SHARED, out -> writePersons(out, persons != null ? persons : List.of()));
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(Output out) throws IOException;
+    }
+
+    private static byte[] compress(byte[] magic, int version, BodyWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.writeBytes(magic);
+        bytes.write(version);
+        bytes.write(COMPRESSION_DEFLATE);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (Output out = new Output(new DeflaterOutputStream(bytes, deflater, 64 * 1024))) {
+            writer.write(out);
+        } catch (IOException e) {
+            // 메모리 스트림이라 발생하지 않음
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 필드 설정과 내보내기 설정만 압축 없이 인코딩 (페이지 해시 입력용, 같은 설정이면 같은 바이트)
+     */
+    public static byte[] encodeSettings(List<TextFieldData> textFields, ExportConfigData exportConfig) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output out = new Output(bytes)) {
+            writeTextFields(out, textFields);
+            writeExportConfig(out, exportConfig);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 단독 스냅샷 열기 (명단 앞의 섹션까지 읽음)
+     *
+     * @throws IOException 형식이 아니거나 지원하지 않는 버전/압축 방식, 공유 구성요소가 필요한 스냅샷
+     */
+    public static Reader open(byte[] data) throws IOException {
+        return open(data, null);
+    }
+
+    /**
+     * 스냅샷 열기 (명단 앞의 섹션까지 읽음)
+     *
+     * @param shared encodePersons로 만든 스냅샷의 공유 구성요소 (단독 스냅샷이면 무시)
+     * @throws IOException 형식이 아니거나 지원하지 않는 버전/압축 방식, 공유 구성요소가 없거나 잘못된 경우
+     */
+    public static Reader open(byte[] data, byte[] shared) throws IOException {
+        int version = readHeader(data, MAGIC, "명단 스냅샷");
+        if (version != FORMAT_VERSION && version != FORMAT_VERSION_NO_CONTENT_HASH
+                && version != FORMAT_VERSION_SHARED) {
+            throw new IOException("지원하지 않는 명단 스냅샷 버전입니다: " + version);
+        }
+        Sections sections = null;
+        if (version == FORMAT_VERSION_SHARED) {
+            if (shared == null) {
+                throw new IOException("명단 스냅샷의 공유 구성요소가 없습니다");
+            }
+            sections = readSharedComponent(shared);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            Input in = new Input(body(data, inflater, "명단 스냅샷"));
+            return new Reader(in, inflater, sections != null ? sections : readSections(in, version));
+        } catch (IOException | RuntimeException e) {
+            inflater.end();
+            throw e;
+        }
+    }
+
+    private static Sections readSharedComponent(byte[] shared) throws IOException {
+        int version = readHeader(shared, SHARED_MAGIC, "공유 구성요소");
+        if (version != SHARED_FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 공유 구성요소 버전입니다: " + version);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            // 공유 구성요소는 템플릿 contentHash가 있는 형식으로만 기록
+            return readSections(new Input(body(shared, inflater, "공유 구성요소")), FORMAT_VERSION);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 매직 확인 후 형식 버전 반환
+     */
+    private static int readHeader(byte[] data, byte[] magic, String label) throws IOException {
+        if (data.length < magic.length + 2 || !Arrays.equals(data, 0, magic.length, magic, 0, magic.length)) {
+            throw new IOException(label + " 형식이 아닙니다");
+        }
+        return data[magic.length];
+    }
+
+    private static InputStream body(byte[] data, Inflater inflater, String label) throws IOException {
+        int compression = data[MAGIC.length + 1];
+        InputStream body = new ByteArrayInputStream(data, MAGIC.length + 2, data.length - MAGIC.length - 2);
+        if (compression == COMPRESSION_DEFLATE) {
+            body = new InflaterInputStream(body, inflater, 64 * 1024);
+        } else if (compression != COMPRESSION_NONE) {
+            throw new IOException("지원하지 않는 " + label + " 압축 방식입니다: " + compression);
+        }
+        return new BufferedInputStream(body, 64 * 1024);
+    }
+
+    /**
+     * 명단 앞 섹션
+     */
+    private record Sections(List<TemplateData> templates, List<TextFieldData> textFields,
+                            ExportConfigData exportConfig, Map<String, String> roleMappings,
+                            Map<String, String> roleColors) {
+    }
+
+    /**
+     * 디코딩 중인 스냅샷
+     * - 템플릿/설정/인원 수는 열 때 읽고, 명단은 readPersons()로 한 번만 읽음
+     * - 압축 해제 버퍼는 close()로 반환 (try-with-resources로 사용)
+     */
+    public static final class Reader implements Closeable {
+
+        private final Input in;
+        private final Inflater inflater;
+        private final Sections sections;
+        private final int personCount;
+        private final String[] columns;
+        private boolean personsRead;
+
+        private Reader(Input in, Inflater inflater, Sections sections) throws IOException {
+            this.in = in;
+            this.inflater = inflater;
+            this.sections = sections;
+            this.personCount = in.readVarInt();
+            this.columns = new String[in.readVarInt()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = in.readString();
+            }
+        }
+
+        public List<TemplateData> templates() {
+            return sections.templates();
+        }
+
+        public List<TextFieldData> textFields() {
+            return sections.textFields();
+        }
+
+        public ExportConfigData exportConfig() {
+            return sections.exportConfig();
+        }
+
+        public Map<String, String> roleMappings() {
+            return sections.roleMappings();
+        }
+
+        public Map<String, String> roleColors() {
+            return sections.roleColors();
+        }
+
+        public int personCount() {
+            return personCount;
+        }
+
+        /**
+         * 명단 전체를 리스트로 디코딩 (한 번만 호출 가능)
+         */
+        public List<PersonData> readPersons() throws IOException {
+            if (personsRead) {
+                throw new IllegalStateException("명단은 한 번만 읽을 수 있습니다");
+            }
+            personsRead = true;
+            List<PersonData> persons = new ArrayList<>(personCount);
+            for (int i = 0; i < personCount; i++) {
+                persons.add(readPerson());
+            }
+            return persons;
+        }
+
+        private PersonData readPerson() throws IOException {
+            String id = in.readString();
+            String templateId = in.readString();
+            Map<String, String> data = null;
+            int size = in.readVarInt() - 1;
+            if (size >= 0) {
+                data = new LinkedHashMap<>(Math.max(4, size * 4 / 3 + 1));
+                for (int i = 0; i < size; i++) {
+                    int column = in.readVarInt();
+                    if (column >= columns.length) {
+                        throw new IOException("명단 스냅샷 컬럼 인덱스가 잘못되었습니다: " + column);
+                    }
+                    data.put(columns[column], in.readString());
+                }
+            }
+            return PersonData.builder().id(id).templateId(templateId).data(data).build();
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+        }
+    }
+
+    // ===== 섹션 인코딩/디코딩 =====
+
+    private static void writeShared(Output out, List<TemplateData> templates, List<TextFieldData> textFields,
+                                    ExportConfigData exportConfig, Map<String, String> roleMappings,
+                                    Map<String, String> roleColors) throws IOException {
+        writeTemplates(out, templates);
+        writeTextFields(out, textFields);
+        writeExportConfig(out, exportConfig);
+        out.writeStringMap(roleMappings);
+        out.writeStringMap(roleColors);
+    }
+
+    private static Sections readSections(Input in, int version) throws IOException {
+        return new Sections(readTemplates(in, version), readTextFields(in), readExportConfig(in),
+                in.readStringMap(), in.readStringMap());
+    }
+
+    private static void writeTemplates(Output out, List<TemplateData> templates) throws IOException {
+        out.writeSize(templates);
+        if (templates == null) return;
+        for (TemplateData t : templates) {
+            out.writeString(t.getId());
+            out.writeString(t.getFileName());
+            out.writeString(t.getImageUrl());
+            out.writeString(t.getDataUrl());
+            out.writeString(t.getContentHash());
+            out.writeInteger(t.getWidth());
+            out.writeInteger(t.getHeight());
+            out.writeString(t.getRole());
+        }
+    }
+
+    private static List<TemplateData> readTemplates(Input in, int version) throws IOException {
+        int size = in.readVarInt() - 1;
+        if (size < 0) return null;
+        List<TemplateData> templates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            templates.add(TemplateData.builder()
+                    .id(in.readString())
+                    .fileName(in.readString())
+                    .imageUrl(in.readString())
+                    .dataUrl(in.readString())
+                    .contentHash(version > FORMAT_VERSION_NO_CONTENT_HASH ? in.readString() : null)
+                    .width(in.readInteger())
+                    .height(in.readInteger())
+                    .role(in.readString())
+                    .build());
+        }
+        return templates;
+    }
+
+    private static void writeTextFields(Output out, List<TextFieldData> textFields) throws IOException {
+        out.writeSize(textFields);
+        if (textFields == null) return;
+        for (TextFieldData field : textFields) {
+            out.writeString(field.getId());
+            out.writeString(field.getColumn());
+            out.writeString(field.getLabel());
+            PositionData position = field.getPosition();
+            out.writeBoolean(position != null);
+            if (position != null) {
+                out.writeDouble(position.getX());
+                out.writeDouble(position.getY());
+            }
+            StyleData style = field.getStyle();
+            out.writeBoolean(style != null);
+            if (style != null) {
+                out.writeString(style.getFontFamily());
+                out.writeInteger(style.getFontSize());
+                out.writeInteger(style.getFontWeight());
+                out.writeString(style.getColor());
+            }
+        }
+    }
+
+    private static List<TextFieldData> readTextFields(Input in) throws IOException {
+        int size = in.readVarInt() - 1;
+        if (size < 0) return null;
+        List<TextFieldData> textFields = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TextFieldData.TextFieldDataBuilder field = TextFieldData.builder()
+                    .id(in.readString())
+                    .column(in.readString())
+                    .label(in.readString());
+            if (in.readBoolean()) {
+                field.position(PositionData.builder().x(in.readDouble()).y(in.readDouble()).build());
+            }
+            if (in.readBoolean()) {
+                field.style(StyleData.builder()
+                        .fontFamily(in.readString())
+                        .fontSize(in.readInteger())
+                        .fontWeight(in.readInteger())
+                        .color(in.readString())
+                        .build());
+            }
+            textFields.add(field.build());
+        }
+        return textFields;
+    }
+
+    private static void writeExportConfig(Output out, ExportConfigData config) throws IOException {
+        out.writeBoolean(config != null);
+        if (config == null) return;
+        out.writeString(config.getPaperSize());
+        out.writeString(config.getLayout());
+        out.writeInteger(config.getMargin());
+        out.writeInteger(config.getDpi());
+        out.writeString(config.getSizeMode());
+        out.writeInteger(config.getGridGap());
+        out.writeInteger(config.getFixedWidth());
+        out.writeInteger(config.getFixedHeight());
+        out.writeInteger(config.getBlankPages());
+        Map<String, Integer> blankPagesPerTemplate = config.getBlankPagesPerTemplate();
+        out.writeVarInt(blankPagesPerTemplate != null ? blankPagesPerTemplate.size() + 1 : 0);
+        if (blankPagesPerTemplate != null) {
+            for (Map.Entry<String, Integer> entry : blankPagesPerTemplate.entrySet()) {
+                out.writeString(entry.getKey());
+                out.writeInteger(entry.getValue());
+            }
+        }
+        out.writeString(config.getRenderMode());
+        out.writeString(config.getImageEncoding());
+        out.writeInteger(config.getJpegQuality());
+        out.writeInteger(config.getTargetFileSizeMb());
+    }
+
+    private static ExportConfigData readExportConfig(Input in) throws IOException {
+        if (!in.readBoolean()) return null;
+        ExportConfigData.ExportConfigDataBuilder config = ExportConfigData.builder()
+                .paperSize(in.readString())
+                .layout(in.readString())
+                .margin(in.readInteger())
+                .dpi(in.readInteger())
+                .sizeMode(in.readString())
+                .gridGap(in.readInteger())
+                .fixedWidth(in.readInteger())
+                .fixedHeight(in.readInteger())
+                .blankPages(in.readInteger());
+        int size = in.readVarInt() - 1;
+        if (size >= 0) {
+            Map<String, Integer> blankPagesPerTemplate = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                blankPagesPerTemplate.put(in.readString(), in.readInteger());
+            }
+            config.blankPagesPerTemplate(blankPagesPerTemplate);
+        }
+        return config
+                .renderMode(in.readString())
+                .imageEncoding(in.readString())
+                .jpegQuality(in.readInteger())
+                .targetFileSizeMb(in.readInteger())
+                .build();
+    }
+
+    /**
+     * 인원 수 → 컬럼 사전 → 명단 (값의 컬럼 키는 사전 인덱스)
+     */
+    private static void writePersons(Output out, List<PersonData> persons) throws IOException {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        for (PersonData person : persons) {
+            if (person.getData() != null) {
+                for (String column : person.getData().keySet()) {
+                    columns.putIfAbsent(column, columns.size());
+                }
+            }
+        }
+
+        out.writeVarInt(persons.size());
+        out.writeVarInt(columns.size());
+        for (String column : columns.keySet()) {
+            out.writeString(column);
+        }
+        for (PersonData person : persons) {
+            out.writeString(person.getId());
+            out.writeString(person.getTemplateId());
+            Map<String, String> data = person.getData();
+            out.writeVarInt(data != null ? data.size() + 1 : 0);
+            if (data != null) {
+                for (Map.Entry<String, String> entry : data.entrySet()) {
+                    out.writeVarInt(columns.get(entry.getKey()));
+                    out.writeString(entry.getValue());
+                }
+            }
+        }
+    }
+
+    // ===== 기본 타입 =====
+
+    /**
+     * null 가능한 값은 0을 null로, 나머지는 값 + 1로 저장
+     */
+    private static final class Output implements Closeable {
+
+        private final DataOutputStream out;
+
+        Output(OutputStream out) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        }
+
+        void writeRaw(byte[] bytes) throws IOException {
+            out.write(bytes);
+        }
+
+        void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void writeBoolean(boolean value) throws IOException {
+            out.write(value ? 1 : 0);
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            out.write(bytes);
+        }
+
+        // zigzag 인코딩으로 음수도 짧게 저장
+        void writeInteger(Integer value) throws IOException {
+            writeVarLong(value == null ? 0 : ((((long) value << 1) ^ ((long) value >> 63)) + 1));
+        }
+
+        void writeDouble(Double value) throws IOException {
+            writeBoolean(value != null);
+            if (value != null) {
+                out.writeDouble(value);
+            }
+        }
+
+        void writeSize(Collection<?> collection) throws IOException {
+            writeVarInt(collection != null ? collection.size() + 1 : 0);
+        }
+
+        void writeStringMap(Map<String, String> map) throws IOException {
+            writeVarInt(map != null ? map.size() + 1 : 0);
+            if (map != null) {
+                for (Map.Entry<String, String> entry : map.entrySet()) {
+                    writeString(entry.getKey());
+                    writeString(entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class Input {
+
+        private final DataInputStream in;
+
+        Input(InputStream in) {
+            this.in = new DataInputStream(in);
+        }
+
+        int readVarInt() throws IOException {
+            long value = readVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IOException("명단 스냅샷 길이 값이 잘못되었습니다");
+            }
+            return (int) value;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("명단 스냅샷 varint가 잘못되었습니다");
+        }
+
+        boolean readBoolean() throws IOException {
+            return in.readUnsignedByte() != 0;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt() - 1;
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Integer readInteger() throws IOException {
+            long encoded = readVarLong();
+            if (encoded == 0) {
+                return null;
+            }
+            long zigzag = encoded - 1;
+            return (int) ((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        Double readDouble() throws IOException {
+            return readBoolean() ? in.readDouble() : null;
+        }
+
+        Map<String, String> readStringMap() throws IOException {
+            int size = readVarInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                map.put(readString(), readString());
+            }
+            return map;
+        }
+    }
+}
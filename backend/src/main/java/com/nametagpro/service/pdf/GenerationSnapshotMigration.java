@@ -0,0 +1,124 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.dto.request.PdfGenerateRequest.*;
+import com.nametagpro.entity.Generation;
+import com.nametagpro.entity.SnapshotComponent;
+import com.nametagpro.repository.GenerationRepository;
+import com.nametagpro.repository.SnapshotComponentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 이전 기록의 JSON 렌더링 입력을 바이너리 스냅샷으로 이전
+ * - 시작 시 만료 전 레코드를 한 건씩 변환하고 JSON 필드는 비움
+ * - 인라인 템플릿 이미지는 TemplateBlobStore로 옮기고 참조만 스냅샷에 기록
+ * - 명단 외 입력은 공유 구성요소로 저장 (이전하지 못하면 올린 참조 수를 되돌림)
+ * - 여러 인스턴스가 동시에 실행해도 이미 이전된 레코드는 건너뜀
+ * - 변환에 실패한 레코드는 JSON 그대로 두고 렌더러가 JSON으로 읽음
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationSnapshotMigration {
+
+    private final GenerationRepository generationRepository;
+    private final SnapshotComponentRepository snapshotComponentRepository;
+    private final ObjectMapper objectMapper;
+    private final TemplateBlobStore templateBlobStore;
+
+    @Value("${pdf.snapshot.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        List<UUID> ids = generationRepository.findIdsWithoutSnapshot(LocalDateTime.now());
+        if (ids.isEmpty()) {
+            return;
+        }
+        log.info("JSON 렌더링 입력 {}건을 바이너리 스냅샷으로 이전 시작", ids.size());
+
+        int migrated = 0;
+        long jsonBytes = 0;
+        long snapshotBytes = 0;
+        for (UUID id : ids) {
+            String acquired = null;
+            try {
+                Generation generation = generationRepository.findById(id).orElse(null);
+                if (generation == null || generation.getSnapshotData() != null) {
+                    continue;
+                }
+                byte[] snapshot = GenerationSnapshotCodec.encodePersons(
+                        read(generation.getPersonsData(), listOf(PersonData.class)));
+                GenerationSnapshotCodec.SharedComponent shared = encodeShared(generation);
+                snapshotComponentRepository.acquire(shared.hash(), shared.data(), LocalDateTime.now());
+                acquired = shared.hash();
+                shared.blobHashes().forEach(blobHash ->
+                        snapshotComponentRepository.addBlobReference(shared.hash(), blobHash));
+                SnapshotComponent component = snapshotComponentRepository.findById(shared.hash()).orElseThrow();
+                if (generationRepository.replaceJsonWithSnapshot(id, snapshot, component) > 0) {
+                    acquired = null;
+                    migrated++;
+                    jsonBytes += jsonLength(generation);
+                    snapshotBytes += snapshot.length + shared.data().length;
+                }
+            } catch (Exception e) {
+                log.warn("바이너리 스냅샷 이전 실패, JSON으로 유지합니다: {}", id, e);
+            } finally {
+                // 다른 인스턴스가 먼저 이전했거나 실패한 경우
+                if (acquired != null) {
+                    snapshotComponentRepository.release(acquired, LocalDateTime.now());
+                }
+            }
+        }
+        log.info("바이너리 스냅샷 이전 완료: {}/{}건 (JSON {}KB → 스냅샷 {}KB)",
+                migrated, ids.size(), jsonBytes / 1024, snapshotBytes / 1024);
+    }
+
+    private GenerationSnapshotCodec.SharedComponent encodeShared(Generation generation)
+            throws JsonProcessingException {
+        List<TemplateData> templates = read(generation.getTemplateData(), listOf(TemplateData.class));
+        List<TextFieldData> textFields = read(generation.getTextFieldsData(), listOf(TextFieldData.class));
+        ExportConfigData exportConfig = read(generation.getExportConfigData(),
+                objectMapper.getTypeFactory().constructType(ExportConfigData.class));
+        Map<String, String> roleMappings = read(generation.getRoleMappingsData(),
+                objectMapper.getTypeFactory().constructType(new TypeReference<Map<String, String>>() {}));
+        Map<String, String> roleColors = read(generation.getRoleColorsData(),
+                objectMapper.getTypeFactory().constructType(new TypeReference<Map<String, String>>() {}));
+        return GenerationSnapshotCodec.encodeShared(templateBlobStore.externalize(templates),
+                textFields, exportConfig, roleMappings, roleColors);
+    }
+
+    private JavaType listOf(Class<?> elementType) {
+        return objectMapper.getTypeFactory().constructCollectionType(List.class, elementType);
+    }
+
+    private <T> T read(String json, JavaType type) throws JsonProcessingException {
+        return json != null ? objectMapper.readValue(json, type) : null;
+    }
+
+    private static long jsonLength(Generation generation) {
+        long length = 0;
+        for (String json : new String[]{generation.getTemplateData(), generation.getPersonsData(),
+                generation.getTextFieldsData(), generation.getExportConfigData(),
+                generation.getRoleMappingsData(), generation.getRoleColorsData()}) {
+            length += json != null ? json.length() : 0;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.service.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * 생성 완료된 PDF 결과물 저장소 (S3)
+ * - Generation은 생성 후 변하지 않으므로 처음 렌더링한 PDF를 그대로 재사용
+ * - 키는 Generation ID로 결정되므로 pdfUrl에는 공개 URL만 기록
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfArtifactStore {
+
+    private static final String PREFIX = "generations/";
+
+    private final S3Service s3Service;
+
+    public static String pdfKey(UUID generationId) {
+        return PREFIX + generationId + "/nametag.pdf";
+    }
+
+    public static String zipKey(UUID generationId) {
+        return PREFIX + generationId + "/nametag.zip";
+    }
+
+    public static String badgeArchiveKey(UUID generationId, String format) {
+        return PREFIX + generationId + "/badges-" + format + ".zip";
+    }
+
+    /**
+     * 렌더링된 PDF 파일 업로드 후 URL 반환
+     */
+    public String savePdf(UUID generationId, Path pdfFile) {
+        return s3Service.uploadFile(pdfFile, pdfKey(generationId), "application/pdf");
+    }
+
+    public InputStream openPdf(UUID generationId) {
+        return s3Service.openStream(pdfKey(generationId));
+    }
+
+    /**
+     * 파트별 PDF를 묶은 ZIP 업로드 후 URL 반환 (대규모 행사 모드)
+     */
+    public String saveZip(UUID generationId, Path zipFile) {
+        return s3Service.uploadFile(zipFile, zipKey(generationId), "application/zip");
+    }
+
+    public InputStream openZip(UUID generationId) {
+        return s3Service.openStream(zipKey(generationId));
+    }
+
+    /**
+     * 명찰별 파일 ZIP 업로드 (형식별로 한 번만 렌더링)
+     */
+    public void saveBadgeArchive(UUID generationId, String format, Path zipFile) {
+        s3Service.uploadFile(zipFile, badgeArchiveKey(generationId, format), "application/zip");
+    }
+
+    public boolean hasBadgeArchive(UUID generationId, String format) {
+        return s3Service.exists(badgeArchiveKey(generationId, format));
+    }
+
+    public InputStream openBadgeArchive(UUID generationId, String format) {
+        return s3Service.openStream(badgeArchiveKey(generationId, format));
+    }
+
+    /**
+     * Generation의 결과물 삭제 (실패해도 레코드 삭제는 계속 진행)
+     */
+    public void delete(UUID generationId) {
+        for (String key : new String[]{pdfKey(generationId), zipKey(generationId),
+                badgeArchiveKey(generationId, PdfDocumentRenderer.BADGE_FORMAT_PNG),
+                badgeArchiveKey(generationId, PdfDocumentRenderer.BADGE_FORMAT_PDF)}) {
+            try {
+                s3Service.deleteFile(key);
+            } catch (Exception e) {
+                log.warn("PDF 결과물 삭제 실패: {}", key, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,1247 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.dto.request.PdfGenerateRequest.*;
+import com.nametagpro.repository.PriorGeneration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.apache.pdfbox.util.Matrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generation에 저장된 JSON 데이터로 명찰 PDF를 렌더링
+ * - 다운로드(동기)와 백그라운드 생성 작업이 같은 렌더러를 사용
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfDocumentRenderer {
+
+    private final ObjectMapper objectMapper;
+    private final TemplateImageCache templateImageCache;
+    private final PdfRenderExecutor renderExecutor;
+    private final FontRegistry fontRegistry;
+    private final BadgeRenderCache badgeRenderCache;
+    private final PdfArtifactStore artifactStore;
+
+    @Value("${pdf.render.temp-file-threshold:100}")
+    private int tempFileThreshold;
+
+    // 명찰 이미지 한 장(스트립)의 최대 픽셀 수, 넘으면 가로 스트립으로 나눠 렌더링
+    @Value("${pdf.render.max-pixels-per-strip:4000000}")
+    private long maxStripPixels;
+
+    /**
+     * 페이지 렌더링 진행 상황 콜백
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        ProgressListener NONE = (pagesDone, totalPages) -> { };
+
+        void onProgress(int pagesDone, int totalPages);
+    }
+
+    // 용지 크기 (mm)
+    private static final Map<String, float[]> PAPER_SIZES = Map.of(
+            "A4", new float[]{210f, 297f},
+            "Letter", new float[]{215.9f, 279.4f}
+    );
+
+    // mm to points (1mm = 2.83465 points)
+    public static final float MM_TO_POINTS = 2.83465f;
+
+    // DPI가 없는 기존 기록의 래스터 해상도 (10px/mm, 약 254 DPI)
+    private static final float LEGACY_PIXELS_PER_POINT = 10 / MM_TO_POINTS;
+    private static final int MIN_DPI = 72;
+    private static final int MAX_DPI = 1200;
+
+    private static final String RENDER_MODE_VECTOR = "vector";
+
+    // 렌더링 방식이 바뀌면 올려서 이전 명찰 캐시/페이지 해시를 무시
+    private static final String BADGE_CACHE_VERSION = "1";
+    private static final String PAGE_HASH_VERSION = "2";
+
+    public static final String BADGE_FORMAT_PNG = "png";
+    public static final String BADGE_FORMAT_PDF = "pdf";
+
+    // 미리보기 렌더링 계획 캐시 용량 (스케일된 배경 이미지 포함)
+    private static final long PREVIEW_PLAN_CACHE_BYTES = 64L * 1024 * 1024;
+
+    // 미리보기는 (템플릿, 필드 설정, 크기)별 렌더링 계획을 요청 간 공유
+    private final WeightedLruCache<String, BadgeRenderPlan> previewPlans = new WeightedLruCache<>(
+            PREVIEW_PLAN_CACHE_BYTES, plan -> (long) plan.getWidth() * plan.getHeight() * 4 + 1024);
+
+    // 수용 제어용 메모리 추정 계수
+    private static final long JOB_BASE_BYTES = 8L * 1024 * 1024;        // 파싱된 명단, 폰트, 문서 구조
+    private static final int RASTER_BYTES_PER_PIXEL = 4;                // ARGB 래스터 / 디코딩된 템플릿
+    private static final int IN_FLIGHT_BYTES_PER_PIXEL = 6;             // 렌더링 중 래스터 + 인코딩 버퍼
+    private static final int ENCODED_BYTES_PER_PIXEL = 1;               // 메모리에 보관하는 인코딩된 명찰
+    private static final long PAGE_OBJECT_BYTES = 4L * 1024;            // 임시 파일 모드의 페이지/XObject 객체
+
+    /**
+     * 파트별 PDF 출력 대상 (대규모 행사 모드)
+     * - 반환된 스트림은 파트 저장 후 렌더러가 닫음
+     */
+    @FunctionalInterface
+    public interface PartSink {
+        OutputStream open(int partNumber, int partCount) throws IOException;
+    }
+
+    /**
+     * 저장된 렌더링 입력에서 PDF 재생성
+     *
+     * @return 페이지별 내용 해시 (재사용할 수 없는 페이지는 null)
+     */
+    public List<String> render(GenerationSnapshot generation, OutputStream output, ProgressListener progress) throws IOException {
+        return render(generation, null, output, progress, new RenderStats());
+    }
+
+    /**
+     * 저장된 렌더링 입력에서 PDF 재생성 (이전 결과물의 같은 페이지는 다시 렌더링하지 않고 복사)
+     * - 페이지 해시는 페이지에 그려지는 입력(용지/배치, 템플릿, 필드 설정, 명단 값, 워터마크, 인코딩)으로 계산
+     * - 이전 생성 기록의 해시와 같은 페이지는 저장된 PDF에서 가져오고 나머지 페이지만 렌더링
+     *
+     * @param prior 같은 사용자, 같은 공유 구성요소의 이전 생성 기록 (PDF와 페이지 해시가 저장된 경우만 사용, 없으면 null)
+     * @param stats 단계별 실행 통계를 기록할 대상
+     * @return 페이지별 내용 해시 (재사용할 수 없는 페이지는 null)
+     */
+    public List<String> render(GenerationSnapshot generation, PriorGeneration prior, OutputStream output,
+                               ProgressListener progress, RenderStats stats) throws IOException {
+        GenerationData data = parse(generation, stats);
+        int totalPages = countPages(data.persons().size(), data.perPage());
+        progress.onProgress(0, totalPages);
+
+        return renderDocument(generation, data, data.persons(), prior, output, progress, 0, totalPages, stats);
+    }
+
+    /**
+     * 명단을 일정 인원씩 나눠 파트별 PDF로 렌더링 (대규모 행사 모드)
+     * - 파트 경계는 페이지 경계에 맞춰 전체 페이지 수가 단일 PDF와 같음
+     * - 한 번에 한 파트의 문서만 메모리에 유지
+     *
+     * @return 파트 수
+     */
+    public int renderParts(GenerationSnapshot generation, int personsPerPart, PartSink sink,
+                           ProgressListener progress, RenderStats stats) throws IOException {
+        GenerationData data = parse(generation, stats);
+        int perPage = data.perPage();
+        int partSize = Math.max(perPage, personsPerPart / perPage * perPage);
+        List<PersonData> persons = data.persons();
+        int partCount = Math.max(1, (int) Math.ceil((double) persons.size() / partSize));
+        int totalPages = countPages(persons.size(), perPage);
+        progress.onProgress(0, totalPages);
+
+        int pagesBefore = 0;
+        for (int part = 0; part < partCount; part++) {
+            List<PersonData> partPersons = persons.subList(part * partSize,
+                    Math.min(persons.size(), (part + 1) * partSize));
+            try (OutputStream output = sink.open(part + 1, partCount)) {
+                renderDocument(generation, data, partPersons, null, output, progress, pagesBefore, totalPages, stats);
+            }
+            pagesBefore += countPages(partPersons.size(), perPage);
+        }
+        return partCount;
+    }
+
+    /**
+     * 명찰 한 장씩 별도 파일(PNG 또는 PDF)로 만들어 ZIP으로 스트리밍
+     * - 렌더링/인코딩과 CRC 계산은 워커 풀에서 병렬로 처리
+     * - 엔트리는 완성되는 대로 입력 순서대로 기록하므로 아카이브 전체를 메모리에 두지 않음
+     * - 명찰 파일은 이미 압축된 형식이라 재압축 없이 STORED로 저장
+     */
+    public void renderBadgeArchive(GenerationSnapshot generation, String format, OutputStream output) throws IOException {
+        RenderStats stats = new RenderStats();
+        GenerationData data = parse(generation, stats);
+        List<BadgeSlot> slots = layoutSheet(data.exportConfig(), data.templates(), data.persons()).slots();
+        boolean pdf = BADGE_FORMAT_PDF.equals(format);
+        String extension = pdf ? ".pdf" : ".png";
+        int digits = String.valueOf(slots.size()).length();
+        String nameColumn = data.textFields().isEmpty() ? null : data.textFields().get(0).getColumn();
+
+        // 배경은 스케일된 이미지만 사용하므로 문서 없이 생성
+        TemplateBackgroundRegistry backgrounds = new TemplateBackgroundRegistry(null, templateImageCache,
+                this::renderDefaultBackground);
+        Function<BadgeSlot, BadgeRenderPlan> plans = planCache(data.textFields(), backgrounds, false, stats);
+        BadgeImageEncoder encoder = pdf ? BadgeImageEncoder.of(data.exportConfig(), totalPixels(slots))
+                : BadgeImageEncoder.png();
+
+        ZipOutputStream zip = new ZipOutputStream(new NonClosingOutputStream(output));
+        try (PdfRenderExecutor.OrderedResults<BadgeSlot, BadgeFile> files = renderExecutor.submitOrdered(slots,
+                slot -> toBadgeFile(slot, plans, encoder, pdf, stats))) {
+            for (int i = 0; i < slots.size(); i++) {
+                BadgeFile file = files.next();
+                if (file == null) continue;
+
+                ZipEntry entry = new ZipEntry(badgeFileName(i + 1, digits, slots.get(i).person(), nameColumn) + extension);
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(file.bytes().length);
+                entry.setCompressedSize(file.bytes().length);
+                entry.setCrc(file.crc());
+                zip.putNextEntry(entry);
+                zip.write(file.bytes());
+                zip.closeEntry();
+            }
+        }
+        zip.finish();
+        zip.flush();
+        log.debug("명찰별 파일 렌더링 통계: {} {}", generation.id(), stats.toSummary());
+    }
+
+    /**
+     * 명찰 파일 하나 생성 (워커 스레드에서 실행)
+     */
+    private BadgeFile toBadgeFile(BadgeSlot slot, Function<BadgeSlot, BadgeRenderPlan> plans,
+                                  BadgeImageEncoder encoder, boolean pdf, RenderStats stats) throws IOException {
+        // PNG는 한 장으로, PDF는 고해상도면 스트립으로 나눠 렌더링
+        RenderedBadge badge = encodeNametag(slot, plans, encoder, !pdf, stats);
+        if (badge == null) {
+            return null;
+        }
+        List<RasterStrip> strips = badge.strips();
+
+        byte[] bytes = pdf ? toSinglePagePdf(strips, slot.width(), slot.height()) : strips.get(0).image().data();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return new BadgeFile(bytes, crc.getValue());
+    }
+
+    /**
+     * 명찰 크기 그대로의 한 페이지 PDF
+     */
+    private static byte[] toSinglePagePdf(List<RasterStrip> strips, float width, float height) throws IOException {
+        try (PDDocument document = new PDDocument(IOUtils.createMemoryOnlyStreamCache())) {
+            PDPage page = new PDPage(new PDRectangle(width, height));
+            document.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                drawStrips(contentStream, toXObjects(document, strips), strips, 0, 0, width, height);
+            }
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
+
+    /**
+     * PDF 렌더링 작업의 예상 비용 (RenderAdmissionController 수용 판단용)
+     * - 명단은 파싱하지 않고 인원 수, 용지/레이아웃, DPI, 템플릿 크기로 계산
+     *
+     * @param personsPerDocument 한 PDF 문서에 담기는 최대 명찰 수 (대규모 행사 모드는 파트 크기)
+     */
+    public RenderAdmissionController.RenderCost estimateDocumentCost(GenerationSnapshot generation, int personsPerDocument) {
+        return estimateCost(generation, personsPerDocument, false);
+    }
+
+    /**
+     * 명찰별 파일 ZIP 렌더링 작업의 예상 비용 (문서 없이 명찰을 한 장씩 스트리밍)
+     */
+    public RenderAdmissionController.RenderCost estimateBadgeArchiveCost(GenerationSnapshot generation, String format) {
+        return estimateCost(generation, 0, !BADGE_FORMAT_PDF.equals(format));
+    }
+
+    /**
+     * 명찰 한 장 미리보기의 예상 비용 (배경 + 명찰 래스터)
+     */
+    public RenderAdmissionController.RenderCost estimatePreviewCost(float width, float height, int dpi) {
+        float pixelsPerPoint = dpi / 72f;
+        long pixels = (long) Math.max(1, (int) (width * pixelsPerPoint)) * Math.max(1, (int) (height * pixelsPerPoint));
+        return new RenderAdmissionController.RenderCost(
+                pixels * (RASTER_BYTES_PER_PIXEL + IN_FLIGHT_BYTES_PER_PIXEL), pixels);
+    }
+
+    /**
+     * - 배경: 디코딩된 템플릿 원본 + 명찰 크기로 스케일된 배경 (템플릿별 하나)
+     * - 렌더링 중: 문서당 window개 명찰(스트립)의 래스터와 인코딩 버퍼
+     * - 문서: 임시 파일 기준 이하이면 인코딩된 명찰 전체, 넘으면 페이지 객체만 메모리에 남음
+     * - CPU: 렌더링할 총 픽셀 수 (명찰 캐시 적중은 고려하지 않은 상한)
+     */
+    private RenderAdmissionController.RenderCost estimateCost(GenerationSnapshot generation, int personsPerDocument,
+                                                              boolean wholeImage) {
+        List<TemplateData> templates;
+        ExportConfigData exportConfig;
+        int persons;
+        if (generation.snapshotData() != null) {
+            // 명단 앞의 섹션만 읽음
+            try (GenerationSnapshotCodec.Reader reader = GenerationSnapshotCodec.open(generation.snapshotData(),
+                    generation.sharedData())) {
+                templates = reader.templates();
+                exportConfig = reader.exportConfig();
+                persons = reader.personCount();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            templates = fromJson(generation.templateData(),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, TemplateData.class));
+            exportConfig = fromJson(generation.exportConfigData(), ExportConfigData.class);
+            persons = generation.nametagCount() != null ? generation.nametagCount()
+                    : fromJson(generation.personsData(),
+                            objectMapper.getTypeFactory().constructCollectionType(List.class, PersonData.class)).size();
+        }
+
+        // 템플릿마다 명찰 하나씩 배치해 템플릿별 명찰 픽셀 크기 계산
+        List<PersonData> samples = templates.stream()
+                .map(template -> PersonData.builder().templateId(template.getId()).build())
+                .toList();
+        long badgePixels = 0;
+        long backgroundBytes = 0;
+        for (BadgeSlot slot : layoutSheet(exportConfig, templates, samples).slots()) {
+            if (slot.template() == null) {
+                continue;
+            }
+            long pixels = (long) slot.pixelWidth() * slot.pixelHeight();
+            badgePixels = Math.max(badgePixels, pixels);
+            TemplateData template = slot.template();
+            long sourcePixels = template.getWidth() != null && template.getHeight() != null
+                    ? (long) template.getWidth() * template.getHeight() : 0;
+            backgroundBytes += (sourcePixels + Math.min(pixels, maxStripPixels)) * RASTER_BYTES_PER_PIXEL;
+        }
+
+        int documentPersons = Math.min(persons, personsPerDocument);
+        long memory = JOB_BASE_BYTES + backgroundBytes;
+        long cpuPixels;
+        if (RENDER_MODE_VECTOR.equals(exportConfig.getRenderMode())) {
+            // 배경 이미지만 래스터로 한 번 그리고 글자는 벡터로 그림
+            memory += documentPersons * PAGE_OBJECT_BYTES;
+            cpuPixels = templates.size() * badgePixels;
+        } else {
+            long stripPixels = wholeImage ? badgePixels : Math.min(badgePixels, maxStripPixels);
+            memory += Math.min(persons, renderExecutor.getWindow()) * stripPixels * IN_FLIGHT_BYTES_PER_PIXEL;
+            memory += documentPersons <= tempFileThreshold
+                    ? documentPersons * badgePixels * ENCODED_BYTES_PER_PIXEL
+                    : documentPersons * PAGE_OBJECT_BYTES;
+            cpuPixels = persons * badgePixels;
+        }
+        return new RenderAdmissionController.RenderCost(memory, cpuPixels);
+    }
+
+    /**
+     * 명찰 한 장 미리보기 (PNG 또는 한 페이지 PDF)
+     * - PDF 생성과 같은 렌더링 계획(BadgeRenderPlan)으로 그려 인쇄 결과와 같은 배치/폰트
+     * - 렌더링 계획과 스케일된 배경은 요청 간 공유해 같은 템플릿/필드 설정이면 글자만 새로 그림
+     *
+     * @param width  명찰 너비 (포인트)
+     * @param height 명찰 높이 (포인트)
+     * @param dpi    해상도 (범위는 호출한 쪽에서 검증)
+     */
+    public byte[] renderPreview(TemplateData template, List<TextFieldData> textFields, PersonData person,
+                                float width, float height, int dpi, String format) throws IOException {
+        float pixelsPerPoint = dpi / 72f;
+        BadgeSlot slot = new BadgeSlot(person, template, 0, 0, width, height, pixelsPerPoint);
+        BadgeRenderPlan plan = previewPlan(slot, textFields != null ? textFields : List.of());
+
+        boolean pdf = BADGE_FORMAT_PDF.equals(format);
+        BadgeImageEncoder encoder = pdf ? BadgeImageEncoder.lossless() : BadgeImageEncoder.png();
+        BadgeImageEncoder.EncodedImage image = encoder.encode(plan.render(person),
+                BadgeRenderPlan.cacheKey(template, plan.getWidth(), plan.getHeight()));
+        if (!pdf) {
+            return image.data();
+        }
+        return toSinglePagePdf(List.of(new RasterStrip(image, 0, plan.getHeight(), plan.getHeight())), width, height);
+    }
+
+    /**
+     * 미리보기용 렌더링 계획 (요청 간 공유)
+     * - 배경 로드에 실패한 계획은 캐시하지 않아 다음 요청에서 다시 로드
+     */
+    private BadgeRenderPlan previewPlan(BadgeSlot slot, List<TextFieldData> textFields) throws IOException {
+        int width = slot.pixelWidth();
+        int height = slot.pixelHeight();
+        String templateKey = templateKey(slot.template());
+
+        MessageDigest digest = ContentHash.newDigest();
+        updateDigest(digest, templateKey != null ? templateKey : "id:" + slot.template().getId());
+        updateDigest(digest, objectMapper.writeValueAsString(textFields));
+        updateDigest(digest, width + "x" + height + "/" + slot.fontScale());
+        String key = HexFormat.of().formatHex(digest.digest());
+
+        BadgeRenderPlan plan = previewPlans.getIfPresent(key);
+        if (plan != null) {
+            return plan;
+        }
+        TemplateBackgroundRegistry backgrounds = new TemplateBackgroundRegistry(null, templateImageCache,
+                this::renderDefaultBackground);
+        plan = BadgeRenderPlan.compile(textFields, width, height, slot.fontScale(),
+                backgrounds.getBackgroundPainter(slot.template(), width, height, maxStripPixels), fontRegistry);
+        if (plan.hasBackground()) {
+            previewPlans.put(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * ZIP 엔트리 이름 (순번 + 첫 번째 텍스트 필드 값)
+     */
+    private static String badgeFileName(int number, int digits, PersonData person, String nameColumn) {
+        String name = String.format("%0" + digits + "d", number);
+        String label = nameColumn != null && person.getData() != null ? person.getData().get(nameColumn) : null;
+        if (label == null || label.isBlank()) {
+            return name;
+        }
+        label = label.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (label.length() > 40) {
+            label = label.substring(0, 40);
+        }
+        return name + "-" + label;
+    }
+
+    /**
+     * 렌더링 입력 디코딩 (바이너리 스냅샷, 아직 이전되지 않은 기록은 JSON)
+     */
+    private GenerationData parse(GenerationSnapshot generation, RenderStats stats) throws IOException {
+        RenderStats.Timer timer = stats.start(RenderStats.Stage.PARSE);
+        if (generation.snapshotData() != null) {
+            try (GenerationSnapshotCodec.Reader reader = GenerationSnapshotCodec.open(generation.snapshotData(),
+                    generation.sharedData())) {
+                List<TextFieldData> textFields = reader.textFields() != null ? reader.textFields() : new ArrayList<>();
+                return new GenerationData(reader.templates(), reader.readPersons(), textFields, reader.exportConfig());
+            } finally {
+                timer.stop();
+            }
+        }
+
+        List<TemplateData> templates = fromJson(generation.templateData(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, TemplateData.class));
+        List<PersonData> persons = fromJson(generation.personsData(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, PersonData.class));
+        List<TextFieldData> textFields = generation.textFieldsData() != null ?
+                fromJson(generation.textFieldsData(),
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, TextFieldData.class)) :
+                new ArrayList<>();
+        ExportConfigData exportConfig = fromJson(generation.exportConfigData(), ExportConfigData.class);
+        timer.stop();
+        return new GenerationData(templates, persons, textFields, exportConfig);
+    }
+
+    private static int countPages(int nametags, int perPage) {
+        return (int) Math.ceil((double) nametags / perPage);
+    }
+
+    /**
+     * 명단 일부(또는 전체)를 PDF 문서 하나로 렌더링
+     *
+     * @param prior      페이지를 재사용할 이전 생성 기록 (없으면 null)
+     * @param pageOffset 앞선 파트에서 완료한 페이지 수 (진행 상황 표시용)
+     * @return 페이지별 내용 해시 (렌더링에 실패한 명찰이 있는 페이지는 null)
+     */
+    private List<String> renderDocument(GenerationSnapshot generation, GenerationData data, List<PersonData> persons,
+                                        PriorGeneration prior, OutputStream output, ProgressListener progress,
+                                        int pageOffset, int totalPages, RenderStats stats) throws IOException {
+        List<TemplateData> templates = data.templates();
+        List<TextFieldData> textFields = data.textFields();
+        ExportConfigData exportConfig = data.exportConfig();
+
+        // PDF 생성
+        // 명찰이 많으면 PDF 스트림을 힙 대신 임시 파일에 보관해 다운로드당 메모리 사용량을 제한
+        StreamCacheCreateFunction streamCache = persons.size() > tempFileThreshold
+                ? IOUtils.createTempFileOnlyStreamCache()
+                : IOUtils.createMemoryOnlyStreamCache();
+
+        RenderStats.Timer layoutTimer = stats.start(RenderStats.Stage.LAYOUT);
+        SheetLayout sheet = layoutSheet(exportConfig, templates, persons);
+        layoutTimer.stop();
+        float pageWidth = sheet.pageWidth();
+        float pageHeight = sheet.pageHeight();
+        int perPage = sheet.perPage();
+        List<BadgeSlot> slots = sheet.slots();
+        int totalItems = slots.size();
+        int pageCount = countPages(totalItems, perPage);
+
+        // 벡터 모드: 텍스트는 PDF 텍스트로 출력
+        boolean vectorMode = RENDER_MODE_VECTOR.equals(exportConfig.getRenderMode());
+        BadgeImageEncoder encoder = BadgeImageEncoder.of(exportConfig, totalPixels(slots));
+
+        List<String> pageHashes = pageHashes(generation, textFields, exportConfig, sheet, vectorMode, encoder);
+
+        try (PriorPages priorPages = openPriorPages(prior, pageHashes);
+             PDDocument document = new PDDocument(streamCache)) {
+            // 이전 결과물과 내용이 같은 페이지 (페이지 번호 → 이전 PDF의 페이지 번호)
+            Map<Integer, Integer> reusedPages = new HashMap<>();
+            if (priorPages != null) {
+                for (int page = 0; page < pageCount; page++) {
+                    Integer priorIndex = priorPages.pageIndex(pageHashes.get(page));
+                    if (priorIndex != null) {
+                        reusedPages.put(page, priorIndex);
+                    }
+                }
+            }
+            List<BadgeSlot> renderSlots = new ArrayList<>(totalItems);
+            for (int i = 0; i < totalItems; i++) {
+                if (!reusedPages.containsKey(i / perPage)) {
+                    renderSlots.add(slots.get(i));
+                }
+            }
+
+            // 폰트 (파일은 레지스트리에서 공유, 문서에는 사용한 글자만 서브셋 임베드)
+            FontRegistry.DocumentFonts fonts = fontRegistry.forDocument(document);
+
+            // 워터마크는 문서당 한 번만 만들어 모든 페이지에서 공유
+            PDFormXObject watermark = generation.watermarkEnabled() && generation.watermarkText() != null
+                    ? createWatermark(document, fonts.get(null, null), generation.watermarkText(), pageWidth, pageHeight)
+                    : null;
+
+            // 템플릿 배경은 문서당 한 번만 로드/디코딩 (벡터 모드는 임베드도 한 번)
+            TemplateBackgroundRegistry backgrounds = new TemplateBackgroundRegistry(document, templateImageCache,
+                    this::renderDefaultBackground);
+
+            // 래스터 모드: 명찰 이미지 그리기/인코딩은 워커 풀에서 병렬로 처리하고
+            // XObject 생성과 페이지 조립은 이 스레드에서 순서대로 진행 (순차 처리와 동일한 결과)
+            Function<BadgeSlot, BadgeRenderPlan> plans = planCache(textFields, backgrounds, vectorMode, stats);
+            PdfRenderExecutor.OrderedResults<BadgeSlot, RenderedBadge> rasters = vectorMode ? null :
+                    renderExecutor.submitOrdered(renderSlots, slot -> encodeNametag(slot, plans, encoder, false, stats));
+
+            // 같은 내용의 명찰(같은 캐시 키)은 문서 안에서 이미지 스트림 하나를 공유
+            Map<String, List<PDImageXObject>> badgeXObjects = new HashMap<>();
+
+            int pagesDone = pageOffset;
+
+            RenderStats.Timer assembleTimer = stats.start(RenderStats.Stage.ASSEMBLE);
+            try {
+                for (int page = 0; page < pageCount; page++) {
+                    Integer priorIndex = reusedPages.get(page);
+                    if (priorIndex != null) {
+                        // 이전 PDF의 페이지를 그대로 복사 (리소스는 저장 시 함께 기록)
+                        document.importPage(priorPages.document().getPage(priorIndex));
+                        progress.onProgress(++pagesDone, totalPages);
+                        continue;
+                    }
+
+                    PDPage currentPage = new PDPage(new PDRectangle(pageWidth, pageHeight));
+                    document.addPage(currentPage);
+                    try (PDPageContentStream contentStream = new PDPageContentStream(document, currentPage)) {
+                        for (int i = page * perPage; i < Math.min(totalItems, (page + 1) * perPage); i++) {
+                            BadgeSlot slot = slots.get(i);
+                            RenderedBadge badge = rasters != null ? rasters.next() : null;
+
+                            if (slot.template() == null) continue;
+
+                            if (vectorMode) {
+                                PDImageXObject background = backgrounds.getXObject(slot.template(),
+                                        slot.pixelWidth(), slot.pixelHeight());
+                                if (background == null) {
+                                    pageHashes.set(page, null);
+                                }
+                                renderVectorNametag(contentStream, background, slot.person(), plans.apply(slot), fonts,
+                                        slot.x(), slot.y(), slot.width(), slot.height());
+                                continue;
+                            }
+
+                            // 배경 로드에 실패한 명찰이 다음 생성에 재사용되지 않도록 페이지 해시 제외
+                            if (badge == null || badge.key() == null) {
+                                pageHashes.set(page, null);
+                            }
+                            if (badge != null) {
+                                List<PDImageXObject> xObjects = badge.key() != null
+                                        ? badgeXObjects.get(badge.key())
+                                        : null;
+                                if (xObjects == null) {
+                                    xObjects = toXObjects(document, badge.strips());
+                                    if (badge.key() != null) {
+                                        badgeXObjects.put(badge.key(), xObjects);
+                                    }
+                                }
+                                drawStrips(contentStream, xObjects, badge.strips(),
+                                        slot.x(), slot.y(), slot.width(), slot.height());
+                            }
+                        }
+
+                        // 워터마크 추가
+                        if (watermark != null) {
+                            contentStream.drawForm(watermark);
+                        }
+                    }
+                    progress.onProgress(++pagesDone, totalPages);
+                }
+            } finally {
+                if (rasters != null) {
+                    rasters.close();
+                }
+            }
+            assembleTimer.stop();
+
+            log.debug("PDF 렌더링 완료: 명찰 {}개, 임베드된 배경 {}개, 명찰 이미지 {}종, 재사용 페이지 {}/{}", totalItems,
+                    backgrounds.getEmbeddedCount(), badgeXObjects.size(), reusedPages.size(), pageCount);
+
+            // PDDocument.save는 스트림을 닫으므로 출력 스트림(ZIP 엔트리 등)은 호출한 쪽에서 닫도록 보호
+            // 복사한 페이지는 이전 PDF의 객체를 참조하므로 저장이 끝난 뒤에 이전 PDF를 닫음
+            RenderStats.Timer saveTimer = stats.start(RenderStats.Stage.SAVE);
+            document.save(new NonClosingOutputStream(output));
+            saveTimer.stop();
+        }
+        return pageHashes;
+    }
+
+    /**
+     * 페이지별 내용 해시
+     * - 문서 공통 입력(용지, 렌더링 모드/인코딩, 필드 설정, 내보내기 설정, 워터마크)과
+     *   페이지에 놓인 명찰별 입력(위치/크기, 템플릿 이미지, 필드에 쓰이는 명단 값)의 SHA-256
+     * - 설정은 저장 형식(JSON/스냅샷)과 관계없이 디코딩된 값을 스냅샷 형식으로 다시 인코딩해 해시
+     */
+    private List<String> pageHashes(GenerationSnapshot generation, List<TextFieldData> textFields,
+                                    ExportConfigData exportConfig, SheetLayout sheet,
+                                    boolean vectorMode, BadgeImageEncoder encoder) {
+        MessageDigest documentDigest = ContentHash.newDigest();
+        updateDigest(documentDigest, PAGE_HASH_VERSION);
+        updateDigest(documentDigest, sheet.pageWidth() + "x" + sheet.pageHeight());
+        updateDigest(documentDigest, vectorMode ? RENDER_MODE_VECTOR : encoder.cacheKey() + "/" + maxStripPixels);
+        documentDigest.update(GenerationSnapshotCodec.encodeSettings(textFields, exportConfig));
+        updateDigest(documentDigest, generation.watermarkEnabled()
+                ? Objects.requireNonNullElse(generation.watermarkText(), "") : "");
+        byte[] documentHash = documentDigest.digest();
+
+        List<BadgeSlot> slots = sheet.slots();
+        List<String> hashes = new ArrayList<>();
+        for (int start = 0; start < slots.size(); start += sheet.perPage()) {
+            MessageDigest digest = ContentHash.newDigest();
+            digest.update(documentHash);
+            for (BadgeSlot slot : slots.subList(start, Math.min(slots.size(), start + sheet.perPage()))) {
+                updateDigest(digest, slot.x() + "," + slot.y() + "," + slot.width() + "," + slot.height()
+                        + "," + slot.pixelsPerPoint());
+                if (slot.template() == null) {
+                    updateDigest(digest, "");
+                    continue;
+                }
+                String templateKey = templateKey(slot.template());
+                updateDigest(digest, templateKey != null ? templateKey : "id:" + slot.template().getId());
+                Map<String, String> values = slot.person().getData();
+                for (TextFieldData field : textFields) {
+                    String value = values != null ? values.get(field.getColumn()) : null;
+                    updateDigest(digest, value != null ? value : "");
+                }
+            }
+            hashes.add(HexFormat.of().formatHex(digest.digest()));
+        }
+        return hashes;
+    }
+
+    /**
+     * 이전 결과물 PDF 열기 (재사용할 페이지가 하나라도 있을 때만)
+     * - 저장소에서 임시 파일로 받은 뒤 열어 메모리에 전체를 올리지 않음
+     * - 불러오지 못하면 null (전체 페이지 렌더링)
+     */
+    private PriorPages openPriorPages(PriorGeneration prior, List<String> pageHashes) {
+        if (prior == null || prior.getPdfUrl() == null || prior.getPageHashesData() == null) {
+            return null;
+        }
+        List<String> priorHashes = fromJson(prior.getPageHashesData(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+        if (priorHashes == null) {
+            return null;
+        }
+        Map<String, Integer> pageIndexByHash = new HashMap<>();
+        for (int i = 0; i < priorHashes.size(); i++) {
+            if (priorHashes.get(i) != null) {
+                pageIndexByHash.putIfAbsent(priorHashes.get(i), i);
+            }
+        }
+        if (pageHashes.stream().noneMatch(pageIndexByHash::containsKey)) {
+            return null;
+        }
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("nametag-prior-", ".pdf");
+            try (InputStream input = artifactStore.openPdf(prior.getId())) {
+                Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            PDDocument document = Loader.loadPDF(file.toFile());
+            if (document.getNumberOfPages() != priorHashes.size()) {
+                // 해시와 결과물이 어긋나면 재사용하지 않음
+                document.close();
+                deleteQuietly(file);
+                return null;
+            }
+            return new PriorPages(document, file, pageIndexByHash);
+        } catch (IOException | RuntimeException e) {
+            log.warn("이전 PDF를 불러오지 못해 전체 페이지를 렌더링합니다: {}", prior.getId(), e);
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 PDF 파일 삭제 실패: {}", file, e);
+        }
+    }
+
+    /**
+     * 용지/레이아웃 설정에 따른 명찰 배치 계산 (템플릿 선택, 크기, 위치)
+     */
+    private SheetLayout layoutSheet(ExportConfigData exportConfig, List<TemplateData> templates,
+                                    List<PersonData> persons) {
+        // 용지 크기
+        float[] paperSize = PAPER_SIZES.getOrDefault(exportConfig.getPaperSize(), PAPER_SIZES.get("A4"));
+        float pageWidth = paperSize[0] * MM_TO_POINTS;
+        float pageHeight = paperSize[1] * MM_TO_POINTS;
+        float margin = (exportConfig.getMargin() != null ? exportConfig.getMargin() : 10) * MM_TO_POINTS;
+
+        // 레이아웃 계산
+        int[] layout = parseLayout(exportConfig.getLayout());
+        int cols = layout[0];
+        int rows = layout[1];
+        int perPage = cols * rows;
+
+        float availableWidth = pageWidth - margin * 2;
+        float availableHeight = pageHeight - margin * 2;
+
+        // 그리드 간격
+        float gridGap = (exportConfig.getGridGap() != null ? exportConfig.getGridGap() : 0) * MM_TO_POINTS;
+        float totalHGaps = gridGap * (cols - 1);
+        float totalVGaps = gridGap * (rows - 1);
+        float cellWidth = (availableWidth - totalHGaps) / cols;
+        float cellHeight = (availableHeight - totalVGaps) / rows;
+
+        // 고정 크기 모드
+        boolean useFixedSize = "fixed".equals(exportConfig.getSizeMode());
+        float fixedWidth = (exportConfig.getFixedWidth() != null ? exportConfig.getFixedWidth() : 90) * MM_TO_POINTS;
+        float fixedHeight = (exportConfig.getFixedHeight() != null ? exportConfig.getFixedHeight() : 55) * MM_TO_POINTS;
+
+        // 래스터 해상도 (요청 DPI, 없으면 기존 10px/mm)
+        float pixelsPerPoint = exportConfig.getDpi() != null && exportConfig.getDpi() > 0
+                ? Math.max(MIN_DPI, Math.min(MAX_DPI, exportConfig.getDpi())) / 72f
+                : LEGACY_PIXELS_PER_POINT;
+
+        // 템플릿 맵
+        Map<String, TemplateData> templateMap = new HashMap<>();
+        for (TemplateData t : templates) {
+            templateMap.put(t.getId(), t);
+        }
+        TemplateData defaultTemplate = templates.isEmpty() ? null : templates.get(0);
+
+        int totalItems = persons.size();
+        List<BadgeSlot> slots = new ArrayList<>(totalItems);
+        for (int i = 0; i < totalItems; i++) {
+            int posIdx = i % perPage;
+            int col = posIdx % cols;
+            int row = posIdx / cols;
+
+            // 셀 위치 계산 (PDF 좌표계는 좌하단이 원점)
+            float cellX = margin + col * (cellWidth + gridGap);
+            float cellY = pageHeight - margin - (row + 1) * cellHeight - row * gridGap;
+
+            PersonData person = persons.get(i);
+
+            // 템플릿 선택
+            TemplateData template = defaultTemplate;
+            if (person.getTemplateId() != null && templateMap.containsKey(person.getTemplateId())) {
+                template = templateMap.get(person.getTemplateId());
+            }
+
+            if (template == null) {
+                slots.add(new BadgeSlot(person, null, 0, 0, 0, 0, pixelsPerPoint));
+                continue;
+            }
+
+            // 명찰 크기 계산
+            float nametagWidth, nametagHeight;
+            if (useFixedSize) {
+                nametagWidth = fixedWidth;
+                nametagHeight = fixedHeight;
+            } else {
+                float templateAspect = (float) template.getWidth() / template.getHeight();
+                nametagWidth = cellWidth;
+                nametagHeight = cellWidth / templateAspect;
+                if (nametagHeight > cellHeight) {
+                    nametagHeight = cellHeight;
+                    nametagWidth = cellHeight * templateAspect;
+                }
+            }
+
+            // 셀 중앙 배치
+            float offsetX = (cellWidth - nametagWidth) / 2;
+            float offsetY = (cellHeight - nametagHeight) / 2;
+            slots.add(new BadgeSlot(person, template, cellX + offsetX, cellY + offsetY, nametagWidth, nametagHeight,
+                    pixelsPerPoint));
+        }
+
+        return new SheetLayout(pageWidth, pageHeight, perPage, slots);
+    }
+
+    /**
+     * 명찰 이미지 렌더링 후 인코딩 (워커 스레드에서 실행)
+     * - 픽셀 수가 스트립 한도를 넘으면 가로 스트립별로 렌더링/인코딩해 한 번에 한 스트립만 메모리에 둠
+     * - 같은 내용의 명찰은 BadgeRenderCache에서 재사용 (이전 생성 요청 포함, 목표 크기 모드 제외)
+     * - 렌더링 실패는 IOException으로 전달해 빈 명찰이 든 PDF를 저장하지 않고 작업을 실패 처리
+     *
+     * @param wholeImage 한도와 관계없이 한 장으로 렌더링 (PNG 파일 출력용)
+     */
+    private RenderedBadge encodeNametag(BadgeSlot slot, Function<BadgeSlot, BadgeRenderPlan> plans,
+                                        BadgeImageEncoder encoder, boolean wholeImage,
+                                        RenderStats stats) throws IOException {
+        if (slot.template() == null) {
+            return null;
+        }
+
+        try {
+            BadgeRenderPlan plan = plans.apply(slot);
+            int width = plan.getWidth();
+            int height = plan.getHeight();
+            int stripHeight = wholeImage ? height : (int) Math.max(1, Math.min(height, maxStripPixels / width));
+
+            String calibrationKey = BadgeRenderPlan.cacheKey(slot.template(), width, height);
+            BadgeRenderCache.BadgeRenderer renderer = () -> {
+                List<RasterStrip> strips = new ArrayList<>();
+                for (int y0 = 0; y0 < height; y0 += stripHeight) {
+                    int y1 = Math.min(height, y0 + stripHeight);
+                    RenderStats.Timer rasterizeTimer = stats.start(RenderStats.Stage.RASTERIZE);
+                    BufferedImage stripImage = plan.renderStrip(slot.person(), y0, y1);
+                    rasterizeTimer.stop();
+
+                    RenderStats.Timer encodeTimer = stats.start(RenderStats.Stage.ENCODE);
+                    strips.add(new RasterStrip(encoder.encode(stripImage, calibrationKey), y0, y1, height));
+                    encodeTimer.stop();
+                }
+                return strips;
+            };
+
+            String key = badgeCacheKey(slot, plan, encoder, stripHeight);
+            // 목표 크기 모드는 문서 안에서만 재사용 (보정 품질이 인코더마다 달라 요청 간 캐시 불가)
+            List<RasterStrip> strips = key != null && encoder.isCacheable()
+                    ? badgeRenderCache.get(key, renderer)
+                    : renderer.render();
+            return strips != null ? new RenderedBadge(key, strips) : null;
+        } catch (RuntimeException e) {
+            throw new IOException("명찰 렌더링 실패: " + slot.person().getId(), e);
+        }
+    }
+
+    /**
+     * 명찰 렌더링 캐시 키 (결과 이미지를 결정하는 입력 전체의 SHA-256)
+     * - 템플릿 이미지 내용, 필드 설정, 크기/스트립 분할, 인코딩 설정, 필드에 쓰이는 명단 값
+     * - 명단의 다른 열이나 명찰 위치는 이미지에 영향이 없으므로 제외
+     * - 배경을 식별할 수 없거나 로드에 실패한 명찰은 캐시하지 않음 (null)
+     */
+    private String badgeCacheKey(BadgeSlot slot, BadgeRenderPlan plan, BadgeImageEncoder encoder, int stripHeight) {
+        String templateKey = templateKey(slot.template());
+        if (templateKey == null || !plan.hasBackground()) {
+            return null;
+        }
+
+        MessageDigest digest = ContentHash.newDigest();
+        updateDigest(digest, BADGE_CACHE_VERSION);
+        updateDigest(digest, templateKey);
+        updateDigest(digest, plan.getFingerprint());
+        updateDigest(digest, stripHeight + "/" + maxStripPixels);
+        updateDigest(digest, encoder.cacheKey());
+        Map<String, String> values = slot.person().getData();
+        for (BadgeRenderPlan.FieldPlan field : plan.getFields()) {
+            String value = values != null ? values.get(field.column()) : null;
+            updateDigest(digest, value != null ? value : "");
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 템플릿 배경 식별자 (이미지 내용 해시 또는 URL, 이미지가 없으면 null)
+     */
+    private static String templateKey(TemplateData template) {
+        return TemplateBackgroundRegistry.isDefaultTemplate(template)
+                ? TemplateBackgroundRegistry.DEFAULT_TEMPLATE_ID
+                : TemplateImageCache.cacheKey(template);
+    }
+
+    // 길이를 앞에 붙여 값 경계가 섞이지 않도록 함
+    private static void updateDigest(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static long totalPixels(List<BadgeSlot> slots) {
+        return slots.stream()
+                .filter(slot -> slot.template() != null)
+                .mapToLong(slot -> (long) slot.pixelWidth() * slot.pixelHeight())
+                .sum();
+    }
+
+    /**
+     * 스트립별 이미지 XObject 생성 (문서 스레드에서 실행)
+     */
+    private static List<PDImageXObject> toXObjects(PDDocument document, List<RasterStrip> strips) throws IOException {
+        List<PDImageXObject> xObjects = new ArrayList<>(strips.size());
+        for (RasterStrip strip : strips) {
+            xObjects.add(BadgeImageEncoder.toXObject(document, strip.image()));
+        }
+        return xObjects;
+    }
+
+    /**
+     * 스트립 이미지를 명찰 영역에 위에서부터 이어 붙여 그림 (문서 스레드에서 실행)
+     */
+    private static void drawStrips(PDPageContentStream contentStream, List<PDImageXObject> xObjects,
+                                   List<RasterStrip> strips, float x, float y, float width, float height)
+            throws IOException {
+        for (int i = 0; i < strips.size(); i++) {
+            RasterStrip strip = strips.get(i);
+            PDImageXObject pdImage = xObjects.get(i);
+            // PDF 좌표계는 좌하단이 원점
+            float top = y + height - height * strip.y0() / strip.totalHeight();
+            float stripHeight = height * (strip.y1() - strip.y0()) / strip.totalHeight();
+            contentStream.drawImage(pdImage, x, top - stripHeight, width, stripHeight);
+        }
+    }
+
+    /**
+     * 생성 요청 하나에서 사용할 렌더링 계획 캐시
+     * - (템플릿, 픽셀 크기)별로 한 번만 계산하고 워커 스레드 간에 공유
+     * - 벡터 모드는 배경을 XObject로 따로 그리므로 계획에 배경 이미지를 넣지 않음
+     */
+    private Function<BadgeSlot, BadgeRenderPlan> planCache(List<TextFieldData> textFields,
+                                                           TemplateBackgroundRegistry backgrounds,
+                                                           boolean vectorMode, RenderStats stats) {
+        Map<String, BadgeRenderPlan> plans = new ConcurrentHashMap<>();
+        return slot -> {
+            int width = slot.pixelWidth();
+            int height = slot.pixelHeight();
+            return plans.computeIfAbsent(BadgeRenderPlan.cacheKey(slot.template(), width, height), k -> {
+                RenderStats.Timer timer = stats.start(RenderStats.Stage.PLAN);
+                TemplateBackgroundRegistry.BackgroundPainter background = vectorMode ? null
+                        : backgrounds.getBackgroundPainter(slot.template(), width, height, maxStripPixels);
+                BadgeRenderPlan plan = BadgeRenderPlan.compile(textFields, width, height, slot.fontScale(),
+                        background, fontRegistry);
+                timer.stop();
+                return plan;
+            });
+        };
+    }
+
+    /**
+     * 벡터 모드 명찰 렌더링 (공유 배경 이미지 + PDF 텍스트)
+     */
+    private void renderVectorNametag(PDPageContentStream contentStream, PDImageXObject background,
+                                     PersonData person, BadgeRenderPlan plan,
+                                     FontRegistry.DocumentFonts fonts,
+                                     float x, float y, float width, float height) throws IOException {
+        contentStream.saveGraphicsState();
+
+        // 명찰 영역 밖으로 넘치는 텍스트는 래스터 모드와 동일하게 잘라냄
+        contentStream.addRect(x, y, width, height);
+        contentStream.clip();
+
+        if (background != null) {
+            contentStream.drawImage(background, x, y, width, height);
+        }
+
+        if (person.getData() != null) {
+            for (BadgeRenderPlan.FieldPlan field : plan.getFields()) {
+                String text = person.getData().get(field.column());
+                if (text == null || text.isEmpty()) continue;
+
+                PDFont font = fonts.get(field.face());
+
+                text = toEncodableText(font, text);
+                if (text.isEmpty()) continue;
+
+                // 래스터 모드의 픽셀 단위 크기(10px/mm)를 포인트로 환산
+                float fontSize = field.fontSize() * MM_TO_POINTS / 10;
+                Color color = field.color();
+
+                float textWidth = font.getStringWidth(text) / 1000 * fontSize;
+                float ascent = font.getFontDescriptor().getAscent() / 1000 * fontSize;
+
+                // 중앙 정렬 (PDF 좌표계는 좌하단이 원점)
+                float textX = x + (float) (width * field.relativeX()) - textWidth / 2;
+                float textY = y + height - (float) (height * field.relativeY()) - ascent / 2;
+
+                contentStream.beginText();
+                contentStream.setFont(font, fontSize);
+                contentStream.setNonStrokingColor(color);
+                if (field.syntheticBold()) {
+                    // Bold 서체 파일이 없으면 외곽선을 함께 그려 굵게 표현
+                    contentStream.setStrokingColor(color);
+                    contentStream.setLineWidth(fontSize * 0.03f);
+                    contentStream.setRenderingMode(RenderingMode.FILL_STROKE);
+                } else {
+                    contentStream.setRenderingMode(RenderingMode.FILL);
+                }
+                contentStream.newLineAtOffset(textX, textY);
+                contentStream.showText(text);
+                contentStream.endText();
+            }
+        }
+
+        contentStream.restoreGraphicsState();
+    }
+
+    /**
+     * 폰트에 없는 글자를 제외한 텍스트 반환
+     */
+    private String toEncodableText(PDFont font, String text) {
+        try {
+            font.encode(text);
+            return text;
+        } catch (IOException | IllegalArgumentException e) {
+            StringBuilder sb = new StringBuilder();
+            text.codePoints().forEach(cp -> {
+                String ch = new String(Character.toChars(cp));
+                try {
+                    font.encode(ch);
+                    sb.append(ch);
+                } catch (IOException | IllegalArgumentException ignored) {
+                    // 지원하지 않는 글자는 생략
+                }
+            });
+            log.warn("폰트에 없는 글자 제외 ({}): {} -> {}", font.getName(), text, sb);
+            return sb.toString();
+        }
+    }
+
+    /**
+     * 기본 템플릿 배경 (명단 데이터와 무관한 부분)
+     */
+    private void renderDefaultBackground(Graphics2D g2d, int width, int height) {
+        // 배경 그라데이션
+        GradientPaint gradient = new GradientPaint(0, 0, new Color(248, 250, 252),
+                width, height, new Color(226, 232, 240));
+        g2d.setPaint(gradient);
+        g2d.fillRect(0, 0, width, height);
+
+        // 내부 카드 영역
+        int padding = (int) (Math.min(width, height) * 0.03);
+        int cardX = padding;
+        int cardY = padding;
+        int cardWidth = width - padding * 2;
+        int cardHeight = height - padding * 2;
+        int borderRadius = (int) (Math.min(cardWidth, cardHeight) * 0.05);
+
+        // 카드 배경
+        g2d.setColor(Color.WHITE);
+        g2d.fillRoundRect(cardX, cardY, cardWidth, cardHeight, borderRadius, borderRadius);
+
+        // 카드 테두리
+        g2d.setColor(new Color(203, 213, 225));
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRoundRect(cardX, cardY, cardWidth, cardHeight, borderRadius, borderRadius);
+
+        // 상단 헤더
+        int headerHeight = (int) (cardHeight * 0.22);
+        Color headerColor = new Color(59, 130, 246); // 기본 파란색
+        g2d.setColor(headerColor);
+        g2d.fillRoundRect(cardX, cardY, cardWidth, headerHeight, borderRadius, borderRadius);
+        // 하단 직각 부분 채우기
+        g2d.fillRect(cardX, cardY + headerHeight - borderRadius, cardWidth, borderRadius);
+
+        // 헤더 텍스트
+        int headerFontSize = (int) Math.min(cardWidth * 0.08, headerHeight * 0.5);
+        g2d.setFont(new Font("SansSerif", Font.BOLD, headerFontSize));
+        g2d.setColor(Color.WHITE);
+        FontMetrics fm = g2d.getFontMetrics();
+        String headerText = "NAME TAG";
+        int textX = cardX + (cardWidth - fm.stringWidth(headerText)) / 2;
+        int textY = cardY + (headerHeight + fm.getAscent() - fm.getDescent()) / 2;
+        g2d.drawString(headerText, textX, textY);
+    }
+
+    /**
+     * 워터마크 Form XObject 생성 (대각선 반복 패턴)
+     * - 문서당 한 번만 만들고 각 페이지에서는 drawForm으로 참조만 추가
+     * - 투명도는 ExtGState로 적용
+     * - 폰트에 없는 글자만 있으면 null
+     */
+    private PDFormXObject createWatermark(PDDocument document, PDFont font,
+                                          String text, float pageWidth, float pageHeight) throws IOException {
+        text = toEncodableText(font, text);
+        if (text.isEmpty()) {
+            log.debug("워터마크 텍스트를 표시할 수 없습니다");
+            return null;
+        }
+
+        PDFormXObject form = new PDFormXObject(document);
+        form.setBBox(new PDRectangle(pageWidth, pageHeight));
+        form.setResources(new PDResources());
+
+        // 반투명 회색 (흰 바탕에서 기존 0.8 회색과 같은 밝기)
+        PDExtendedGraphicsState transparency = new PDExtendedGraphicsState();
+        transparency.setNonStrokingAlphaConstant(0.4f);
+
+        // 워터마크를 여러 위치에 반복 배치
+        float fontSize = 40;
+        float yStep = 150;
+        float xStep = 200;
+
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, form)) {
+            contentStream.setGraphicsStateParameters(transparency);
+            contentStream.setNonStrokingColor(0.5f, 0.5f, 0.5f);
+            contentStream.beginText();
+            contentStream.setFont(font, fontSize);
+            for (float y = 100; y < pageHeight; y += yStep) {
+                for (float x = 50; x < pageWidth; x += xStep) {
+                    contentStream.setTextMatrix(Matrix.getTranslateInstance(x, y));
+                    contentStream.showText(text);
+                }
+            }
+            contentStream.endText();
+        }
+        return form;
+    }
+
+    public static int[] parseLayout(String layout) {
+        if (layout == null) return new int[]{2, 2};
+        String[] parts = layout.split("x");
+        if (parts.length != 2) return new int[]{2, 2};
+        try {
+            return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+        } catch (NumberFormatException e) {
+            return new int[]{2, 2};
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> clazz) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, clazz);
+        } catch (JsonProcessingException e) {
+            log.error("JSON 역직렬화 실패", e);
+            return null;
+        }
+    }
+
+    private <T> T fromJson(String json, JavaType type) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            log.error("JSON 역직렬화 실패", e);
+            return null;
+        }
+    }
+
+    /**
+     * 디코딩된 렌더링 입력 (파트마다 다시 디코딩하지 않도록 한 번만 생성)
+     */
+    private record GenerationData(List<TemplateData> templates, List<PersonData> persons,
+                                  List<TextFieldData> textFields, ExportConfigData exportConfig) {
+
+        int perPage() {
+            int[] layout = parseLayout(exportConfig.getLayout());
+            return layout[0] * layout[1];
+        }
+    }
+
+    /**
+     * 인코딩된 명찰 이미지
+     * - key: 명찰 렌더링 캐시 키 (캐시하지 않은 명찰은 null)
+     */
+    private record RenderedBadge(String key, List<RasterStrip> strips) {
+    }
+
+    /**
+     * 페이지를 복사해 올 이전 결과물 PDF (임시 파일에서 연 문서)
+     */
+    private record PriorPages(PDDocument document, Path file, Map<String, Integer> pageIndexByHash)
+            implements Closeable {
+
+        Integer pageIndex(String pageHash) {
+            return pageHash != null ? pageIndexByHash.get(pageHash) : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                document.close();
+            } finally {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * ZIP에 기록할 명찰 파일 (STORED 엔트리용 CRC 포함)
+     */
+    private record BadgeFile(byte[] bytes, long crc) {
+    }
+
+    /**
+     * 용지 크기와 명찰 배치 (PDF 좌표, 포인트 단위)
+     */
+    private record SheetLayout(float pageWidth, float pageHeight, int perPage, List<BadgeSlot> slots) {
+    }
+
+    /**
+     * close()에서 flush만 하는 출력 스트림
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * 페이지 내 명찰 하나의 배치 정보 (PDF 좌표, 포인트 단위)
+     * - pixelsPerPoint: 래스터 해상도 (DPI / 72)
+     */
+    private record BadgeSlot(PersonData person, TemplateData template,
+                             float x, float y, float width, float height, float pixelsPerPoint) {
+
+        int pixelWidth() {
+            return Math.max(1, (int) (width * pixelsPerPoint));
+        }
+
+        int pixelHeight() {
+            return Math.max(1, (int) (height * pixelsPerPoint));
+        }
+
+        // 스타일 글자 크기는 10px/mm 기준이므로 해상도에 맞춰 확대
+        float fontScale() {
+            return pixelsPerPoint / LEGACY_PIXELS_PER_POINT;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.nametagpro.service.pdf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nametagpro.repository.GenerationRepository;
+import com.nametagpro.repository.PriorGeneration;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * PDF 생성 백그라운드 작업
+ * - 생성 요청은 PROCESSING 상태로 저장된 뒤 이 워커 풀에서 렌더링
+ * - 렌더링 결과는 PdfArtifactStore에 저장하고 COMPLETED, 실패 시 FAILED로 기록
+ * - 진행 상황(완료 페이지 / 전체 페이지)은 작업 중에만 메모리에 보관하고 heartbeat마다 DB에도 기록
+ * - 접수 가능한 작업 수(실행 + 대기)는 요청 트랜잭션 전에 예약하고, 롤백되면 반납
+ * - 작업은 claimedBy/claimedAt으로 한 인스턴스만 맡고, heartbeat가 끊긴 작업만 다른 인스턴스가 다시 맡음
+ * - 파트 크기보다 큰 명단은 대규모 행사 모드로 파트별 PDF를 ZIP 하나로 묶어 저장
+ * - 렌더링은 다운로드 요청과 같은 메모리 예산(RenderAdmissionController) 안에서 차례를 기다려 실행
+ */
+@Component
+@Slf4j
+public class PdfGenerationWorker {
+
+    private final GenerationRepository generationRepository;
+    private final PdfDocumentRenderer renderer;
+    private final PdfArtifactStore artifactStore;
+    private final RenderAdmissionController renderAdmission;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final int personsPerPart;
+    private final Duration claimTimeout;
+
+    // 이 인스턴스를 구분하는 작업 소유자 ID
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 접수 가능한 작업 수 (실행 중 + 대기 중, 대기열 자체는 이 수로 제한)
+    private final Semaphore slots;
+
+    private final Map<UUID, JobProgress> progress = new ConcurrentHashMap<>();
+
+    public PdfGenerationWorker(GenerationRepository generationRepository,
+                               PdfDocumentRenderer renderer,
+                               PdfArtifactStore artifactStore,
+                               RenderAdmissionController renderAdmission,
+                               ObjectMapper objectMapper,
+                               @Value("${pdf.jobs.threads:2}") int threads,
+                               @Value("${pdf.jobs.queue-capacity:100}") int queueCapacity,
+                               @Value("${pdf.large-event.persons-per-part:300}") int personsPerPart,
+                               @Value("${pdf.jobs.claim-timeout-seconds:60}") long claimTimeoutSeconds) {
+        this.generationRepository = generationRepository;
+        this.renderer = renderer;
+        this.artifactStore = artifactStore;
+        this.renderAdmission = renderAdmission;
+        this.objectMapper = objectMapper;
+        this.personsPerPart = personsPerPart;
+        this.claimTimeout = Duration.ofSeconds(claimTimeoutSeconds);
+        this.slots = new Semaphore(threads + queueCapacity);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public record JobProgress(int pagesDone, int totalPages) {
+    }
+
+    /**
+     * 작업 소유자 ID (생성 요청 시 claimedBy로 기록)
+     */
+    public String instanceId() {
+        return instanceId;
+    }
+
+    /**
+     * 작업 자리 예약 (생성 요청 트랜잭션 전에 호출, 자리가 없으면 false)
+     * - 예약한 자리는 submit으로 넘기거나 releaseReservation으로 반납
+     */
+    public boolean tryReserve() {
+        return slots.tryAcquire();
+    }
+
+    public void releaseReservation() {
+        slots.release();
+    }
+
+    /**
+     * 예약한 자리로 생성 작업 등록 (작업이 끝나면 자리 반납)
+     * - 종료 중이라 등록하지 못하면 새 트랜잭션으로 FAILED 기록 (커밋 후 콜백에서 호출되므로)
+     */
+    public void submit(UUID generationId) {
+        progress.put(generationId, new JobProgress(0, 0));
+        try {
+            executor.execute(() -> {
+                try {
+                    run(generationId);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            progress.remove(generationId);
+            slots.release();
+            log.warn("PDF 생성 작업 등록 실패: {}", generationId);
+            generationRepository.markFailed(generationId);
+        }
+    }
+
+    /**
+     * 등록된 작업의 진행 상황 (대기 중이면 0/0, 작업이 없으면 null)
+     */
+    public JobProgress getProgress(UUID generationId) {
+        return progress.get(generationId);
+    }
+
+    /**
+     * 시작 시 맡은 인스턴스가 없는 PROCESSING 작업 등록
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        claimPendingJobs(LocalDateTime.now());
+    }
+
+    /**
+     * 맡은 작업의 heartbeat/진행 상황 기록 후, heartbeat가 끊긴 다른 인스턴스의 작업을 맡음
+     */
+    @Scheduled(fixedDelayString = "${pdf.jobs.heartbeat-ms:5000}")
+    public void heartbeat() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            progress.forEach((id, job) -> generationRepository.heartbeat(id, instanceId, now, job.pagesDone()));
+            claimPendingJobs(now);
+        } catch (Exception e) {
+            log.warn("PDF 생성 작업 heartbeat 실패", e);
+        }
+    }
+
+    /**
+     * 맡은 인스턴스가 없거나 heartbeat가 끊긴 작업 중 자리가 있는 만큼 맡아서 등록
+     */
+    private void claimPendingJobs(LocalDateTime now) {
+        LocalDateTime staleBefore = now.minus(claimTimeout);
+        int claimed = 0;
+        for (UUID id : generationRepository.findClaimableIds(now, staleBefore)) {
+            if (progress.containsKey(id)) {
+                // 이 인스턴스에서 실행 중인데 heartbeat가 늦어진 경우
+                continue;
+            }
+            if (!tryReserve()) {
+                break;
+            }
+            if (generationRepository.claim(id, instanceId, now, staleBefore) > 0) {
+                submit(id);
+                claimed++;
+            } else {
+                releaseReservation();
+            }
+        }
+        if (claimed > 0) {
+            log.info("대기 중인 PDF 생성 작업 {}건 등록", claimed);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        try {
+            generationRepository.releaseClaims(instanceId);
+        } catch (Exception e) {
+            log.warn("PDF 생성 작업 반납 실패", e);
+        }
+    }
+
+    /**
+     * 대규모 행사 모드 여부 (명단이 파트 하나보다 크면 파트별 PDF + ZIP)
+     */
+    public boolean isLargeEvent(int nametagCount) {
+        return nametagCount > personsPerPart;
+    }
+
+    private void run(UUID generationId) {
+        Path outputFile = null;
+        try {
+            // 조회 후에는 DB 커넥션 없이 스냅샷으로만 렌더링
+            GenerationSnapshot generation = generationRepository.findById(generationId)
+                    .map(GenerationSnapshot::of)
+                    .orElse(null);
+            if (generation == null) {
+                // 생성 직후 삭제된 경우
+                return;
+            }
+
+            PdfDocumentRenderer.ProgressListener listener =
+                    (pagesDone, totalPages) -> progress.put(generationId, new JobProgress(pagesDone, totalPages));
+
+            boolean largeEvent = generation.nametagCount() != null && isLargeEvent(generation.nametagCount());
+            RenderStats stats = new RenderStats();
+            int updated;
+            if (largeEvent) {
+                outputFile = Files.createTempFile("nametag-", ".zip");
+                try (RenderAdmissionController.Permit permit = renderAdmission.admitBlocking(
+                        renderer.estimateDocumentCost(generation, personsPerPart))) {
+                    renderZip(generation, outputFile, listener, stats);
+                }
+                String zipUrl = artifactStore.saveZip(generationId, outputFile);
+                updated = generationRepository.markCompletedWithZip(generationId, zipUrl,
+                        objectMapper.writeValueAsString(stats.toSummary()));
+            } else {
+                outputFile = Files.createTempFile("nametag-", ".pdf");
+                List<String> pageHashes;
+                try (RenderAdmissionController.Permit permit = renderAdmission.admitBlocking(
+                        renderer.estimateDocumentCost(generation, Integer.MAX_VALUE));
+                     OutputStream output = Files.newOutputStream(outputFile)) {
+                    pageHashes = renderer.render(generation, findPrior(generation), output, listener, stats);
+                }
+                String pdfUrl = artifactStore.savePdf(generationId, outputFile);
+                updated = generationRepository.markCompleted(generationId, pdfUrl,
+                        objectMapper.writeValueAsString(pageHashes), objectMapper.writeValueAsString(stats.toSummary()));
+            }
+
+            if (updated == 0) {
+                // 렌더링 중에 기록이 삭제된 경우
+                artifactStore.delete(generationId);
+                return;
+            }
+            log.info("PDF 생성 완료: {}", generationId);
+        } catch (Exception e) {
+            if (executor.isShutdown()) {
+                // 종료로 중단된 작업은 반납되어 다른 인스턴스가 다시 맡음
+                log.info("종료로 PDF 생성 중단: {}", generationId);
+                return;
+            }
+            log.error("PDF 생성 실패: {}", generationId, e);
+            generationRepository.markFailed(generationId);
+        } finally {
+            progress.remove(generationId);
+            if (outputFile != null) {
+                try {
+                    Files.deleteIfExists(outputFile);
+                } catch (Exception e) {
+                    log.warn("임시 PDF 파일 삭제 실패: {}", outputFile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 페이지를 재사용할 같은 유저, 같은 공유 구성요소의 가장 최근 생성 기록 (없으면 null)
+     */
+    private PriorGeneration findPrior(GenerationSnapshot generation) {
+        if (generation.userId() == null || generation.sharedHash() == null || generation.createdAt() == null) {
+            return null;
+        }
+        return generationRepository.findReusablePriors(generation.userId(), generation.sharedHash(), generation.id(),
+                        generation.createdAt(), LocalDateTime.now(), PageRequest.of(0, 1))
+                .stream().findFirst().orElse(null);
+    }
+
+    /**
+     * 파트별 PDF를 ZIP 파일에 기록
+     * - 파트 PDF는 이미 압축된 스트림이라 다시 압축하지 않고 STORED 엔트리로 저장
+     * - STORED 엔트리는 크기/CRC가 먼저 필요하므로 파트 하나씩 임시 파일에 쓰면서 CRC를 계산한 뒤 복사
+     */
+    private void renderZip(GenerationSnapshot generation, Path zipFile, PdfDocumentRenderer.ProgressListener listener,
+                           RenderStats stats) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipFile)))) {
+            int partCount = renderer.renderParts(generation, personsPerPart, (partNumber, total) -> {
+                Path partFile = Files.createTempFile("nametag-part-", ".pdf");
+                CRC32 crc = new CRC32();
+                return new FilterOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(partFile)), crc)) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                            long size = Files.size(partFile);
+                            ZipEntry entry = new ZipEntry(partFileName(partNumber, total));
+                            entry.setMethod(ZipEntry.STORED);
+                            entry.setSize(size);
+                            entry.setCompressedSize(size);
+                            entry.setCrc(crc.getValue());
+                            zip.putNextEntry(entry);
+                            Files.copy(partFile, zip);
+                            zip.closeEntry();
+                        } finally {
+                            Files.deleteIfExists(partFile);
+                        }
+                    }
+                };
+            }, listener, stats);
+            log.debug("대규모 행사 모드 렌더링: {} ({}개 파트)", generation.id(), partCount);
+        }
+    }
+
+    private static String partFileName(int partNumber, int partCount) {
+        int digits = String.valueOf(partCount).length();
+        return String.format("nametag-part-%0" + digits + "d.pdf", partNumber);
+    }
+}
@@ -0,0 +1,132 @@
+package com.nametagpro.service.pdf;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 명찰 렌더링 워커 풀
+ * - 명찰 이미지 그리기/인코딩처럼 문서와 무관한 작업을 병렬로 실행
+ * - 결과는 입력 순서대로 꺼내므로 PDDocument 조립은 호출 스레드에서 순차적으로 진행
+ * - 문서당 동시에 실행 중인 작업 수를 window로 제한해 메모리 사용량을 묶어 둠
+ */
+@Component
+@Slf4j
+public class PdfRenderExecutor {
+
+    private final ExecutorService executor;
+    private final int threads;
+    private final int window;
+
+    public PdfRenderExecutor(@Value("${pdf.render.threads:0}") int threads,
+                             @Value("${pdf.render.window-per-document:0}") int window) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.window = window > 0 ? window : this.threads * 2;
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(this.threads, threadFactory);
+        log.info("PDF 렌더링 워커 풀 초기화: threads={}, window={}", this.threads, this.window);
+    }
+
+    @FunctionalInterface
+    public interface RenderTask<S, T> {
+        T render(S item) throws IOException;
+    }
+
+    /**
+     * 작업을 병렬로 제출하고 결과를 입력 순서대로 반환하는 커서 생성
+     */
+    public <S, T> OrderedResults<S, T> submitOrdered(List<S> items, RenderTask<S, T> task) {
+        return new OrderedResults<>(items, task);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 입력 순서대로 결과를 꺼내는 커서
+     * - next() 호출 시 window가 찰 때까지 다음 작업을 미리 제출
+     * - close() 시 아직 꺼내지 않은 작업은 취소
+     */
+    public class OrderedResults<S, T> implements AutoCloseable {
+
+        private final List<S> items;
+        private final RenderTask<S, T> task;
+        private final Deque<Future<T>> inFlight = new ArrayDeque<>();
+        private int submitted;
+
+        private OrderedResults(List<S> items, RenderTask<S, T> task) {
+            this.items = items;
+            this.task = task;
+            fill();
+        }
+
+        public T next() throws IOException {
+            Future<T> future = inFlight.poll();
+            if (future == null) {
+                throw new IllegalStateException("더 이상 결과가 없습니다");
+            }
+            fill();
+            return await(future);
+        }
+
+        @Override
+        public void close() {
+            inFlight.forEach(future -> future.cancel(true));
+            inFlight.clear();
+        }
+
+        private void fill() {
+            while (submitted < items.size() && inFlight.size() < window) {
+                S item = items.get(submitted++);
+                inFlight.add(executor.submit(() -> task.render(item)));
+            }
+        }
+
+        private T await(Future<T> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("명찰 렌더링이 중단되었습니다");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IOException("명찰 렌더링 실패", cause);
+            }
+        }
+    }
+}
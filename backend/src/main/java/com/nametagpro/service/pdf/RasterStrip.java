@@ -0,0 +1,12 @@
+package com.nametagpro.service.pdf;
+
+/**
+ * 렌더링된 명찰 이미지의 가로 스트립 (y0 이상 y1 미만 픽셀 행)
+ * - 스트립 한도보다 작은 명찰은 스트립 하나 (0 ~ totalHeight)
+ */
+public record RasterStrip(BadgeImageEncoder.EncodedImage image, int y0, int y1, int totalHeight) {
+
+    public long sizeBytes() {
+        return image.data().length;
+    }
+}
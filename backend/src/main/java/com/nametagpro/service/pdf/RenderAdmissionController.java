@@ -0,0 +1,220 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF 렌더링 수용 제어
+ * - 작업마다 예상 메모리/CPU 비용(PdfDocumentRenderer.estimate*)을 받아 메모리 예산 안에서만 동시에 실행
+ * - 예산을 넘는 작업은 도착 순서대로 대기열에서 기다림 (앞선 작업이 먼저 들어가야 다음 작업 진행)
+ * - 다운로드 요청은 대기열이 가득 차거나 대기 시간을 넘기면 429 + Retry-After
+ * - 미리보기 요청은 기다리지 않고 바로 실행할 수 없으면 즉시 429 + Retry-After
+ * - 스트리밍 다운로드는 응답 전에 예산을 잡고(거절 시 429) 본문이 끝나면 반환
+ *   (본문이 실행되지 않으면 PERMIT_ATTRIBUTE로 넘긴 예산을 비동기 요청 완료 시 반환)
+ * - 백그라운드 생성 작업은 이미 작업 대기열로 제한되므로 거절하지 않고 차례를 기다림
+ * - 예산보다 큰 작업 하나는 다른 작업이 없을 때 단독으로 실행
+ */
+@Component
+@Slf4j
+public class RenderAdmissionController {
+
+    private static final long MAX_RETRY_AFTER_SECONDS = 300;
+
+    // 스트리밍 응답 본문에 넘긴 Permit의 요청 속성 이름 (WebAsyncConfig가 요청 완료 시 반환)
+    public static final String PERMIT_ATTRIBUTE = RenderAdmissionController.class.getName() + ".permit";
+
+    private final long memoryBudget;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final long pixelsPerSecond;
+
+    // 아래 상태는 모두 this로 동기화
+    private final Deque<Ticket> waiting = new ArrayDeque<>();
+    private long memoryInUse;
+    private long pixelsInUse;
+    private int running;
+    private long rejected;
+
+    public RenderAdmissionController(@Value("${pdf.admission.memory-budget-bytes:0}") long memoryBudget,
+                                     @Value("${pdf.admission.max-queued:16}") int maxQueued,
+                                     @Value("${pdf.admission.max-wait-ms:30000}") long maxWaitMillis,
+                                     @Value("${pdf.admission.pixels-per-second:100000000}") long pixelsPerSecond) {
+        // 0이면 최대 힙의 60%
+        this.memoryBudget = memoryBudget > 0 ? memoryBudget : (long) (Runtime.getRuntime().maxMemory() * 0.6);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        this.pixelsPerSecond = Math.max(1, pixelsPerSecond);
+        log.info("PDF 렌더링 수용 제어 초기화: budget={}MB, maxQueued={}, maxWait={}ms",
+                this.memoryBudget / (1024 * 1024), this.maxQueued, maxWaitMillis);
+    }
+
+    /**
+     * 렌더링 작업의 예상 비용
+     *
+     * @param memoryBytes 작업 중 최대 힙 사용량 추정치
+     * @param cpuPixels   렌더링할 총 픽셀 수 (Retry-After 계산용)
+     */
+    public record RenderCost(long memoryBytes, long cpuPixels) {
+    }
+
+    public record Stats(long budgetBytes, long inUseBytes, int running, int queued, long rejected) {
+    }
+
+    /**
+     * 다운로드 요청용 수용 (대기열이 가득 차거나 대기 시간을 넘기면 TooManyRequestsException)
+     */
+    public Permit admit(RenderCost cost) {
+        Ticket ticket = new Ticket(Math.min(cost.memoryBytes(), memoryBudget), cost.cpuPixels());
+        synchronized (this) {
+            if (waiting.isEmpty() && fits(ticket)) {
+                return grant(ticket);
+            }
+            if (waiting.size() >= maxQueued) {
+                throw reject(ticket);
+            }
+            try {
+                if (await(ticket, System.nanoTime() + maxWaitNanos)) {
+                    return grant(ticket);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw reject(ticket);
+        }
+    }
+
+    /**
+     * 미리보기 요청용 수용 (대기 중인 작업이 있거나 예산이 없으면 기다리지 않고 TooManyRequestsException)
+     */
+    public Permit tryAdmit(RenderCost cost) {
+        Ticket ticket = new Ticket(Math.min(cost.memoryBytes(), memoryBudget), cost.cpuPixels());
+        synchronized (this) {
+            if (waiting.isEmpty() && fits(ticket)) {
+                return grant(ticket);
+            }
+            throw reject(ticket);
+        }
+    }
+
+    /**
+     * 백그라운드 작업용 수용 (차례가 올 때까지 대기)
+     */
+    public Permit admitBlocking(RenderCost cost) throws InterruptedException {
+        Ticket ticket = new Ticket(Math.min(cost.memoryBytes(), memoryBudget), cost.cpuPixels());
+        synchronized (this) {
+            if (!waiting.isEmpty() || !fits(ticket)) {
+                await(ticket, Long.MAX_VALUE);
+            }
+            return grant(ticket);
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(memoryBudget, memoryInUse, running, waiting.size(), rejected);
+    }
+
+    private boolean fits(Ticket ticket) {
+        return running == 0 || memoryInUse + ticket.memory <= memoryBudget;
+    }
+
+    /**
+     * 대기열 맨 앞에서 예산에 들어갈 때까지 대기 (deadline을 넘기면 대기열에서 빠지고 false)
+     */
+    private boolean await(Ticket ticket, long deadline) throws InterruptedException {
+        waiting.addLast(ticket);
+        boolean admitted = false;
+        try {
+            while (waiting.peekFirst() != ticket || !fits(ticket)) {
+                if (deadline == Long.MAX_VALUE) {
+                    wait();
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            admitted = true;
+            return true;
+        } finally {
+            waiting.remove(ticket);
+            if (!admitted) {
+                // 빠진 자리 뒤의 작업이 진행할 수 있도록 깨움
+                notifyAll();
+            }
+        }
+    }
+
+    private Permit grant(Ticket ticket) {
+        memoryInUse += ticket.memory;
+        pixelsInUse += ticket.pixels;
+        running++;
+        // 다음 대기 작업도 남은 예산에 들어갈 수 있음
+        notifyAll();
+        return new Permit(ticket);
+    }
+
+    private synchronized void release(Ticket ticket) {
+        memoryInUse -= ticket.memory;
+        pixelsInUse -= ticket.pixels;
+        running--;
+        notifyAll();
+    }
+
+    /**
+     * 앞선 작업(실행 중 + 대기 중)이 끝날 때까지 걸릴 시간으로 Retry-After 계산
+     */
+    private TooManyRequestsException reject(Ticket ticket) {
+        rejected++;
+        long pixelsAhead = pixelsInUse + ticket.pixels;
+        for (Ticket queued : waiting) {
+            pixelsAhead += queued.pixels;
+        }
+        long retryAfter = Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS,
+                (pixelsAhead + pixelsPerSecond - 1) / pixelsPerSecond));
+        log.warn("PDF 렌더링 요청 거절: running={}, queued={}, inUse={}MB, retryAfter={}s",
+                running, waiting.size(), memoryInUse / (1024 * 1024), retryAfter);
+        return new TooManyRequestsException("요청이 많아 PDF를 생성할 수 없습니다. 잠시 후 다시 시도해주세요", retryAfter);
+    }
+
+    private static final class Ticket {
+        final long memory;
+        final long pixels;
+
+        Ticket(long memory, long pixels) {
+            this.memory = memory;
+            this.pixels = pixels;
+        }
+    }
+
+    /**
+     * 수용된 작업의 예산 (close 시 반환, 여러 번 호출해도 한 번만 반환)
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final Ticket ticket;
+        private boolean released;
+
+        private Permit(Ticket ticket) {
+            this.ticket = ticket;
+        }
+
+        @Override
+        public void close() {
+            synchronized (RenderAdmissionController.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(ticket);
+        }
+    }
+}
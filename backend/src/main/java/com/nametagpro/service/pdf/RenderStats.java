@@ -0,0 +1,126 @@
+package com.nametagpro.service.pdf;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PDF 생성 작업 하나의 단계별 실행 통계
+ * - 단계마다 경과 시간(wall), 스레드 CPU 시간, 스레드 할당 바이트를 합산
+ * - 워커 스레드에서 동시에 기록할 수 있음 (병렬 단계의 wall 합계는 실제 경과 시간보다 클 수 있음)
+ * - 요약은 Generation에 JSON으로 저장해 느린 작업을 나중에 진단
+ */
+public class RenderStats {
+
+    public enum Stage {
+        PARSE,      // Generation JSON 파싱
+        LAYOUT,     // 명찰 배치 계산
+        PLAN,       // 템플릿 이미지 로드/스케일, 폰트 준비
+        RASTERIZE,  // Graphics2D 명찰 그리기
+        ENCODE,     // 명찰 이미지 인코딩
+        ASSEMBLE,   // 페이지 조립 (워커 결과 대기 포함)
+        SAVE        // PDF 저장
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final long startedAt = System.nanoTime();
+    private final Map<Stage, Totals> totals = new EnumMap<>(Stage.class);
+
+    public RenderStats() {
+        for (Stage stage : Stage.values()) {
+            totals.put(stage, new Totals());
+        }
+    }
+
+    /**
+     * 현재 스레드에서 단계 측정 시작
+     */
+    public Timer start(Stage stage) {
+        return new Timer(stage, System.nanoTime(), cpuTime(), allocatedBytes());
+    }
+
+    /**
+     * 저장용 요약 (밀리초/MB, 소수점 한 자리)
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        totals.forEach((stage, t) -> {
+            long count = t.count.sum();
+            if (count == 0) return;
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("wallMs", round(t.wallNanos.sum() / 1e6));
+            values.put("cpuMs", round(t.cpuNanos.sum() / 1e6));
+            values.put("allocMb", round(t.allocatedBytes.sum() / (1024.0 * 1024.0)));
+            values.put("count", count);
+            stages.put(stage.name().toLowerCase(Locale.ROOT), values);
+        });
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("wallMs", round((System.nanoTime() - startedAt) / 1e6));
+        summary.put("stages", stages);
+        return summary;
+    }
+
+    /**
+     * 진행 중인 단계 측정 (시작한 스레드에서 stop 호출)
+     */
+    public final class Timer {
+
+        private final Stage stage;
+        private final long wall;
+        private final long cpu;
+        private final long allocated;
+
+        private Timer(Stage stage, long wall, long cpu, long allocated) {
+            this.stage = stage;
+            this.wall = wall;
+            this.cpu = cpu;
+            this.allocated = allocated;
+        }
+
+        public void stop() {
+            Totals t = totals.get(stage);
+            t.wallNanos.add(System.nanoTime() - wall);
+            if (cpu >= 0) {
+                t.cpuNanos.add(Math.max(0, cpuTime() - cpu));
+            }
+            if (allocated >= 0) {
+                t.allocatedBytes.add(Math.max(0, allocatedBytes() - allocated));
+            }
+            t.count.increment();
+        }
+    }
+
+    private static final class Totals {
+        final LongAdder wallNanos = new LongAdder();
+        final LongAdder cpuNanos = new LongAdder();
+        final LongAdder allocatedBytes = new LongAdder();
+        final LongAdder count = new LongAdder();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    // JVM이 지원하지 않으면 -1 (CPU/할당량은 기록하지 않음)
+    private static long cpuTime() {
+        return THREADS != null && THREADS.isCurrentThreadCpuTimeSupported()
+                ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null && THREADS.isThreadAllocatedMemorySupported()
+                ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+            return threads;
+        }
+        return null;
+    }
+}
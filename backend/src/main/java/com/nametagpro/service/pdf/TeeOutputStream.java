@@ -0,0 +1,43 @@
+package com.nametagpro.service.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 두 출력 스트림에 같은 데이터를 기록 (응답 전송과 결과물 저장을 동시에)
+ * - close()는 두 번째 스트림만 닫음 (첫 번째 스트림은 호출한 쪽에서 관리)
+ */
+public class TeeOutputStream extends OutputStream {
+
+    private final OutputStream primary;
+    private final OutputStream secondary;
+
+    public TeeOutputStream(OutputStream primary, OutputStream secondary) {
+        this.primary = primary;
+        this.secondary = secondary;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        primary.write(b);
+        secondary.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        primary.write(b, off, len);
+        secondary.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        primary.flush();
+        secondary.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        secondary.close();
+    }
+}
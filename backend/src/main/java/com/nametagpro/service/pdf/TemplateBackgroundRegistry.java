@@ -0,0 +1,161 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 문서 단위 템플릿 배경 레지스트리
+ * - 디코딩된 템플릿 이미지는 TemplateImageCache를 통해 요청 간 공유
+ * - 명찰 크기로 스케일한 배경도 크기별로 한 번만 생성
+ * - PDF XObject는 템플릿별로 한 번만 임베드하고 모든 명찰이 같은 스트림을 참조
+ */
+@Slf4j
+public class TemplateBackgroundRegistry {
+
+    public static final String DEFAULT_TEMPLATE_ID = "default-template";
+
+    /**
+     * 기본 템플릿처럼 이미지 파일 없이 그려지는 배경
+     */
+    @FunctionalInterface
+    public interface BackgroundPainter {
+        void paint(Graphics2D g2d, int width, int height);
+    }
+
+    private final PDDocument document;
+    private final TemplateImageCache imageCache;
+    private final BackgroundPainter defaultPainter;
+
+    // 렌더링 스레드에서 동시에 읽을 수 있도록 ConcurrentHashMap 사용
+    private final Map<String, Optional<byte[]>> sources = new ConcurrentHashMap<>();
+    private final Map<String, Optional<BufferedImage>> scaledImages = new ConcurrentHashMap<>();
+
+    // XObject는 문서 스레드에서만 생성
+    private final Map<String, Optional<PDImageXObject>> xObjects = new HashMap<>();
+
+    /**
+     * @param document XObject를 임베드할 문서 (스케일된 이미지만 쓰는 경우 null)
+     */
+    public TemplateBackgroundRegistry(PDDocument document, TemplateImageCache imageCache,
+                                      BackgroundPainter defaultPainter) {
+        this.document = document;
+        this.imageCache = imageCache;
+        this.defaultPainter = defaultPainter;
+    }
+
+    public static boolean isDefaultTemplate(TemplateData template) {
+        return DEFAULT_TEMPLATE_ID.equals(template.getId());
+    }
+
+    /**
+     * 명찰 크기로 스케일된 템플릿 배경 (래스터 모드)
+     * - 기본 템플릿은 크기별로 한 번만 그림
+     * - 로드 실패 시 null
+     */
+    public BufferedImage getScaledImage(TemplateData template, int width, int height) {
+        String key = template.getId() + "@" + width + "x" + height;
+        return scaledImages.computeIfAbsent(key, k -> {
+            if (isDefaultTemplate(template)) {
+                return Optional.of(paintDefault(width, height));
+            }
+            BufferedImage source = imageCache.getImage(template);
+            if (source == null) {
+                return Optional.empty();
+            }
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = scaled.createGraphics();
+            BadgeRenderPlan.applyRenderingHints(g2d);
+            g2d.drawImage(source, 0, 0, width, height, null);
+            g2d.dispose();
+            return Optional.of(scaled);
+        }).orElse(null);
+    }
+
+    /**
+     * 래스터 모드 배경 그리기
+     * - 픽셀 수가 maxPixels 이하면 스케일된 배경을 한 번 만들어 공유
+     * - 더 큰 명찰은 전체 크기 배경을 만들지 않고 스트립마다 원본에서 바로 그림
+     * - 로드 실패 시 null
+     */
+    public BackgroundPainter getBackgroundPainter(TemplateData template, int width, int height, long maxPixels) {
+        if ((long) width * height <= maxPixels) {
+            BufferedImage scaled = getScaledImage(template, width, height);
+            return scaled != null ? (g2d, w, h) -> g2d.drawImage(scaled, 0, 0, null) : null;
+        }
+        if (isDefaultTemplate(template)) {
+            return defaultPainter;
+        }
+        BufferedImage source = imageCache.getImage(template);
+        return source != null ? (g2d, w, h) -> g2d.drawImage(source, 0, 0, w, h, null) : null;
+    }
+
+    /**
+     * 문서에 임베드된 템플릿 배경 XObject (벡터 모드)
+     * - 기본 템플릿은 주어진 크기로 한 번 그려서 임베드
+     * - 로드 실패 시 null
+     */
+    public PDImageXObject getXObject(TemplateData template, int width, int height) throws IOException {
+        String key = template.getId();
+        Optional<PDImageXObject> cached = xObjects.get(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+
+        PDImageXObject xObject = createXObject(template, width, height);
+        xObjects.put(key, Optional.ofNullable(xObject));
+        return xObject;
+    }
+
+    /**
+     * 임베드된 배경 이미지 수 (문서 내 배경 스트림 수)
+     */
+    public int getEmbeddedCount() {
+        return (int) xObjects.values().stream().filter(Optional::isPresent).count();
+    }
+
+    private PDImageXObject createXObject(TemplateData template, int width, int height) throws IOException {
+        if (isDefaultTemplate(template)) {
+            return LosslessFactory.createFromImage(document, paintDefault(width, height));
+        }
+
+        // 원본 바이트를 그대로 임베드 (JPEG는 재인코딩 없이 DCT 스트림으로 들어감)
+        byte[] imageBytes = getSource(template);
+        if (imageBytes == null) {
+            return null;
+        }
+        try {
+            return PDImageXObject.createFromByteArray(document, imageBytes, template.getId());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("템플릿 이미지 임베드 실패: {}", template.getId(), e);
+            return null;
+        }
+    }
+
+    private BufferedImage paintDefault(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        BadgeRenderPlan.applyRenderingHints(g2d);
+        defaultPainter.paint(g2d, width, height);
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * 템플릿 원본 이미지 바이트 (contentHash, dataUrl 또는 imageUrl)
+     */
+    private byte[] getSource(TemplateData template) {
+        return sources.computeIfAbsent(template.getId(),
+                k -> Optional.ofNullable(imageCache.loadSource(template))).orElse(null);
+    }
+}
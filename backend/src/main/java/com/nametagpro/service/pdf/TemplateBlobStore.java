@@ -0,0 +1,167 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import com.nametagpro.repository.TemplateBlobRepository;
+import com.nametagpro.service.S3Service;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 템플릿 이미지 콘텐츠 주소 저장소 (S3)
+ * - 키는 원본 이미지 바이트의 SHA-256이므로 같은 이미지는 한 번만 저장
+ * - 스냅샷에는 dataUrl 대신 TemplateData.contentHash만 기록 (contentHash는 put 결과로만 설정)
+ * - S3 업로드가 있으므로 DB 트랜잭션 밖에서 호출
+ * - 여러 Generation이 같은 이미지를 참조하므로 Generation 삭제/만료 시 바로 지우지 않음
+ * - template_blobs에 마지막 사용 시각을 기록하고, 참조하는 공유 구성요소가 없는 이미지는
+ *   PdfCleanupScheduler가 보관 기간이 지난 뒤 삭제
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateBlobStore {
+
+    private static final String PREFIX = "template-blobs/";
+    // TemplateService가 업로드한 템플릿 이미지 키
+    private static final Pattern UPLOADED_KEY_PATTERN = Pattern.compile("templates/[0-9a-f-]{36}(\\.[^/]*)?");
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final S3Service s3Service;
+    private final TemplateBlobRepository templateBlobRepository;
+
+    public static String blobKey(String contentHash) {
+        return PREFIX + contentHash;
+    }
+
+    public static boolean isValidHash(String contentHash) {
+        return contentHash != null && HASH_PATTERN.matcher(contentHash).matches();
+    }
+
+    /**
+     * 인라인 dataUrl 이미지를 저장소로 옮기고 contentHash 참조로 바꾼 템플릿 목록
+     * - base64 dataUrl이 아니거나 저장에 실패한 템플릿은 그대로 둠 (렌더링은 인라인 이미지로 진행)
+     */
+    public List<TemplateData> externalize(List<TemplateData> templates) {
+        if (templates == null) {
+            return null;
+        }
+        List<TemplateData> result = new ArrayList<>(templates.size());
+        for (TemplateData template : templates) {
+            result.add(externalize(template));
+        }
+        return result;
+    }
+
+    private TemplateData externalize(TemplateData template) {
+        String dataUrl = template.getDataUrl();
+        if (dataUrl == null || !dataUrl.startsWith("data:")) {
+            return withoutContentHash(template);
+        }
+        int comma = dataUrl.indexOf(',');
+        String header = comma > 0 ? dataUrl.substring(5, comma) : "";
+        if (!header.endsWith(";base64")) {
+            return withoutContentHash(template);
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(dataUrl.substring(comma + 1));
+            String contentType = header.substring(0, header.length() - ";base64".length());
+            String contentHash = put(data, contentType.isEmpty() ? "application/octet-stream" : contentType);
+            return TemplateData.builder()
+                    .id(template.getId())
+                    .fileName(template.getFileName())
+                    .imageUrl(template.getImageUrl())
+                    .contentHash(contentHash)
+                    .width(template.getWidth())
+                    .height(template.getHeight())
+                    .role(template.getRole())
+                    .build();
+        } catch (Exception e) {
+            log.warn("템플릿 이미지 저장 실패, 스냅샷에 인라인으로 유지합니다: {}", template.getId(), e);
+            return withoutContentHash(template);
+        }
+    }
+
+    /**
+     * put으로 저장하지 않은 contentHash는 버림 (다른 요청의 이미지나 없는 이미지를 참조하지 않도록)
+     */
+    public static TemplateData withoutContentHash(TemplateData template) {
+        if (template.getContentHash() == null) {
+            return template;
+        }
+        return TemplateData.builder()
+                .id(template.getId())
+                .fileName(template.getFileName())
+                .imageUrl(template.getImageUrl())
+                .dataUrl(template.getDataUrl())
+                .width(template.getWidth())
+                .height(template.getHeight())
+                .role(template.getRole())
+                .build();
+    }
+
+    /**
+     * 이미지 저장 후 contentHash 반환 (이미 있으면 업로드 생략)
+     * - 사용 기록을 먼저 남겨 정리 중인 이미지면 정리가 끝난 뒤 존재 여부를 확인 (삭제됐으면 다시 업로드)
+     * - 다른 인스턴스가 정리할 수 있으므로 존재 여부는 매번 확인
+     */
+    public String put(byte[] data, String contentType) {
+        String contentHash = ContentHash.sha256Hex(data);
+        templateBlobRepository.touch(contentHash, LocalDateTime.now());
+        String key = blobKey(contentHash);
+        if (!s3Service.exists(key)) {
+            s3Service.uploadBytes(data, key, contentType);
+            log.debug("템플릿 이미지 저장: {} ({}KB)", contentHash, data.length / 1024);
+        }
+        return contentHash;
+    }
+
+    /**
+     * 저장된 이미지 바이트 (형식이 잘못된 해시면 IllegalArgumentException)
+     */
+    public byte[] get(String contentHash) {
+        if (!isValidHash(contentHash)) {
+            throw new IllegalArgumentException("잘못된 템플릿 이미지 해시입니다: " + contentHash);
+        }
+        return s3Service.downloadFile(blobKey(contentHash));
+    }
+
+    /**
+     * 업로드된 템플릿 이미지 URL인지 (이 버킷의 templates/ 객체만 허용)
+     */
+    public boolean isUploadedImageUrl(String imageUrl) {
+        return uploadedImageKey(imageUrl) != null;
+    }
+
+    /**
+     * 업로드된 템플릿 이미지 바이트 (URL로 직접 요청하지 않고 S3 SDK로 읽음)
+     * - 다른 호스트, file: 등 이 버킷의 templates/ 객체가 아닌 URL이면 IllegalArgumentException
+     */
+    public byte[] getUploadedImage(String imageUrl) {
+        String key = uploadedImageKey(imageUrl);
+        if (key == null) {
+            throw new IllegalArgumentException("허용되지 않은 템플릿 이미지 URL입니다: " + imageUrl);
+        }
+        return s3Service.downloadFile(key);
+    }
+
+    private String uploadedImageKey(String imageUrl) {
+        String key = s3Service.getKeyFromPublicUrl(imageUrl);
+        return key != null && UPLOADED_KEY_PATTERN.matcher(key).matches() ? key : null;
+    }
+
+    /**
+     * 저장된 이미지 삭제 (template_blobs 행을 지운 뒤 호출)
+     */
+    public void delete(String contentHash) {
+        if (!isValidHash(contentHash)) {
+            throw new IllegalArgumentException("잘못된 템플릿 이미지 해시입니다: " + contentHash);
+        }
+        s3Service.deleteFile(blobKey(contentHash));
+    }
+}
@@ -0,0 +1,110 @@
+package com.nametagpro.service.pdf;
+
+import com.nametagpro.dto.request.PdfGenerateRequest.TemplateData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * 프로세스 전역 템플릿 이미지 캐시
+ * - contentHash는 저장소 해시, dataUrl은 내용 해시, imageUrl은 URL을 키로 디코딩된 이미지를 보관
+ * - 디코딩된 픽셀 바이트 합계 기준 LRU (pdf.template-cache.max-bytes)
+ * - 캐시된 이미지는 여러 요청이 공유하므로 읽기 전용으로만 사용
+ */
+@Component
+@Slf4j
+public class TemplateImageCache {
+
+    private final WeightedLruCache<String, BufferedImage> cache;
+    private final TemplateBlobStore blobStore;
+
+    /**
+     * @param blobStore contentHash/imageUrl 참조 이미지 저장소 (null이면 contentHash/imageUrl 템플릿은 로드하지 않음)
+     */
+    public TemplateImageCache(@Value("${pdf.template-cache.max-bytes:268435456}") long maxBytes,
+                              TemplateBlobStore blobStore) {
+        this.cache = new WeightedLruCache<>(maxBytes, TemplateImageCache::decodedBytes);
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * 디코딩된 템플릿 이미지 (로드 실패 시 null)
+     */
+    public BufferedImage getImage(TemplateData template) {
+        String key = cacheKey(template);
+        if (key == null) {
+            return null;
+        }
+        return cache.get(key, k -> decode(template));
+    }
+
+    public WeightedLruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 템플릿 원본 이미지 바이트 (contentHash, dataUrl 또는 업로드된 imageUrl, 로드 실패 시 null)
+     */
+    public byte[] loadSource(TemplateData template) {
+        try {
+            // 저장소 참조가 있으면 저장소에서 로드
+            if (template.getContentHash() != null) {
+                return blobStore != null ? blobStore.get(template.getContentHash()) : null;
+            }
+
+            // dataUrl이 있으면 base64 디코딩
+            if (template.getDataUrl() != null && template.getDataUrl().startsWith("data:")) {
+                String base64 = template.getDataUrl().split(",")[1];
+                return Base64.getDecoder().decode(base64);
+            }
+
+            // imageUrl은 이 버킷에 업로드된 템플릿 이미지만 S3에서 로드 (임의 URL은 요청하지 않음)
+            if (template.getImageUrl() != null) {
+                return blobStore != null ? blobStore.getUploadedImage(template.getImageUrl()) : null;
+            }
+
+            return null;
+        } catch (Exception e) {
+            log.error("템플릿 이미지 로드 실패: {}", template.getId(), e);
+            return null;
+        }
+    }
+
+    static String cacheKey(TemplateData template) {
+        if (template.getContentHash() != null) {
+            return "blob:" + template.getContentHash();
+        }
+        if (template.getDataUrl() != null && template.getDataUrl().startsWith("data:")) {
+            return "sha256:" + ContentHash.sha256Hex(template.getDataUrl());
+        }
+        if (template.getImageUrl() != null) {
+            return "url:" + template.getImageUrl();
+        }
+        return null;
+    }
+
+    private BufferedImage decode(TemplateData template) {
+        byte[] imageBytes = loadSource(template);
+        if (imageBytes == null) {
+            return null;
+        }
+        try {
+            return ImageIO.read(new ByteArrayInputStream(imageBytes));
+        } catch (IOException e) {
+            log.error("템플릿 이미지 디코딩 실패: {}", template.getId(), e);
+            return null;
+        }
+    }
+
+    private static long decodedBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+}
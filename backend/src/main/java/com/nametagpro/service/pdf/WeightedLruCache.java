@@ -0,0 +1,150 @@
+package com.nametagpro.service.pdf;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 바이트 용량 기준 LRU 캐시
+ * - 항목 수가 아닌 항목별 가중치(바이트) 합계로 용량 제한
+ * - 같은 키에 대한 동시 로드는 하나로 합쳐서 한 번만 로드
+ * - null은 캐시하지 않음 (로드 실패 시 다음 요청에서 재시도)
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+
+    // access-order LinkedHashMap: 가장 오래 사용하지 않은 항목이 맨 앞
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Long> weights = new LinkedHashMap<>();
+    private long totalWeight;
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 로드 후 저장
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            // 다른 스레드가 같은 키를 로드 중이면 그 결과를 기다림
+            return await(existing);
+        }
+
+        try {
+            // 직전에 다른 스레드가 로드를 끝냈을 수 있음
+            V value = lookup(key);
+            if (value == null) {
+                value = loader.apply(key);
+                loads.incrementAndGet();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public synchronized V getIfPresent(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxWeight) {
+            // 용량보다 큰 항목은 캐시하지 않음
+            return;
+        }
+
+        remove(key);
+        entries.put(key, value);
+        weights.put(key, weight);
+        totalWeight += weight;
+
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            totalWeight -= weights.remove(eldest.getKey());
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weights.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.get(), misses.get(), loads.get(), evictions.get(),
+                entries.size(), totalWeight, maxWeight);
+    }
+
+    private synchronized V lookup(K key) {
+        return entries.get(key);
+    }
+
+    private void remove(K key) {
+        Long previous = weights.remove(key);
+        if (previous != null) {
+            entries.remove(key);
+            totalWeight -= previous;
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    public record Stats(long hits, long misses, long loads, long evictions,
+                        int size, long weightBytes, long maxWeightBytes) {
+    }
+}
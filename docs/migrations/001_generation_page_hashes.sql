@@ -0,0 +1,2 @@
+-- 페이지별 내용 해시 (다음 생성 시 바뀌지 않은 페이지 재사용)
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS page_hashes_data jsonb;
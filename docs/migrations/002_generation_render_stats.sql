@@ -0,0 +1,2 @@
+-- 단계별 렌더링 시간/CPU/할당량 요약 (느린 작업 진단용)
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS render_stats_data jsonb;
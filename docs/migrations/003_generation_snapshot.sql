@@ -0,0 +1,3 @@
+-- 렌더링 입력 바이너리 스냅샷 (GenerationSnapshotCodec)
+-- 적용 후 시작 시 GenerationSnapshotMigration이 JSON 필드를 스냅샷으로 이전 (pdf.snapshot.migrate-on-startup)
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS snapshot_data bytea;
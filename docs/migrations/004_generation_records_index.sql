@@ -0,0 +1,2 @@
+-- PDF 기록 목록 (유저별, 만료 전, 최신순 keyset 페이지)
+CREATE INDEX IF NOT EXISTS idx_generations_user_expires_created ON generations (user_id, expires_at, created_at);
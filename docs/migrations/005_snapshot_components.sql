@@ -0,0 +1,20 @@
+-- 여러 Generation이 공유하는 렌더링 입력 (템플릿, 필드/내보내기 설정, 역할 매핑/색상)
+CREATE TABLE IF NOT EXISTS snapshot_components (
+    hash       varchar(64) PRIMARY KEY,
+    data       bytea       NOT NULL,
+    ref_count  integer     NOT NULL,
+    created_at timestamp(6),
+    updated_at timestamp(6)
+);
+
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS shared_component_hash varchar(64);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_generations_shared_component') THEN
+        ALTER TABLE generations ADD CONSTRAINT fk_generations_shared_component
+            FOREIGN KEY (shared_component_hash) REFERENCES snapshot_components (hash);
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_generations_shared_component ON generations (shared_component_hash);
@@ -0,0 +1,15 @@
+-- TemplateBlobStore에 저장된 템플릿 이미지 목록 (S3 template-blobs/<hash>)
+CREATE TABLE IF NOT EXISTS template_blobs (
+    hash         varchar(64)  PRIMARY KEY,
+    created_at   timestamp(6),
+    last_used_at timestamp(6) NOT NULL
+);
+
+-- 공유 구성요소가 참조하는 템플릿 이미지 (참조가 모두 사라진 이미지만 정리)
+CREATE TABLE IF NOT EXISTS snapshot_component_blobs (
+    component_hash varchar(64) NOT NULL REFERENCES snapshot_components (hash),
+    blob_hash      varchar(64) NOT NULL,
+    PRIMARY KEY (component_hash, blob_hash)
+);
+
+CREATE INDEX IF NOT EXISTS idx_snapshot_component_blobs_blob ON snapshot_component_blobs (blob_hash);
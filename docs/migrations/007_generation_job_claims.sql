@@ -0,0 +1,4 @@
+-- 생성 작업을 맡은 인스턴스, 마지막 heartbeat, 진행 상황 (여러 인스턴스가 같은 작업을 중복 실행하지 않도록)
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS claimed_by varchar(64);
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS claimed_at timestamp(6);
+ALTER TABLE generations ADD COLUMN IF NOT EXISTS pages_done integer;
@@ -2,10 +2,10 @@
 
 import { useEffect, useState } from 'react';
 import { useTranslations } from 'next-intl';
-import { ChevronLeft, FileText, Download, Trash2, Clock, Loader2, AlertCircle } from 'lucide-react';
+import { ChevronLeft, FileText, Download, Images, Trash2, Clock, Loader2, AlertCircle } from 'lucide-react';
 import { motion, AnimatePresence } from 'framer-motion';
 import { useAuthStore } from '@/stores/auth-store';
-import { getMyPdfRecords, downloadPdf, deletePdfRecord, type PdfRecordResponse } from '@/lib/pdf-api';
+import { getMyPdfRecords, downloadPdf, downloadBadgeArchive, deletePdfRecord, saveBlob, type PdfRecordResponse } from '@/lib/pdf-api';
 import { Link, useRouter } from '@/i18n/routing';
 import { Button } from '@/components/ui/button';
 
@@ -14,7 +14,10 @@ export default function PdfRecordsPage() {
   const t = useTranslations('pdfRecords');
   const { isAuthenticated, isLoading: authLoading } = useAuthStore();
   const [records, setRecords] = useState<PdfRecordResponse[]>([]);
+  const [totalCount, setTotalCount] = useState(0);
+  const [hasMore, setHasMore] = useState(false);
   const [isLoading, setIsLoading] = useState(true);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [error, setError] = useState<string | null>(null);
   const [downloadingId, setDownloadingId] = useState<string | null>(null);
   const [deletingId, setDeletingId] = useState<string | null>(null);
@@ -34,8 +37,10 @@ export default function PdfRecordsPage() {
     try {
       setIsLoading(true);
       setError(null);
-      const data = await getMyPdfRecords();
-      setRecords(data);
+      const page = await getMyPdfRecords();
+      setRecords(page.records);
+      setTotalCount(page.totalCount);
+      setHasMore(page.hasMore);
     } catch (err) {
       setError(t('loadError'));
       console.error('Failed to load PDF records:', err);
@@ -44,18 +49,29 @@ export default function PdfRecordsPage() {
     }
   };
 
+  const loadMore = async () => {
+    const last = records[records.length - 1];
+    if (!last) return;
+
+    try {
+      setIsLoadingMore(true);
+      const page = await getMyPdfRecords(last);
+      setRecords((prev) => [...prev, ...page.records.filter((r) => !prev.some((p) => p.id === r.id))]);
+      setTotalCount(page.totalCount);
+      setHasMore(page.hasMore);
+    } catch (err) {
+      console.error('Failed to load more PDF records:', err);
+      alert(t('loadError'));
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const handleDownload = async (record: PdfRecordResponse) => {
     try {
       setDownloadingId(record.id);
       const blob = await downloadPdf(record.id);
-      const url = URL.createObjectURL(blob);
-      const a = document.createElement('a');
-      a.href = url;
-      a.download = `${record.projectName || 'nametag'}.pdf`;
-      document.body.appendChild(a);
-      a.click();
-      document.body.removeChild(a);
-      URL.revokeObjectURL(url);
+      saveBlob(blob, `${record.projectName || 'nametag'}.${record.fileType ?? 'pdf'}`);
     } catch (err) {
       console.error('Failed to download PDF:', err);
       alert(t('downloadError'));
@@ -64,6 +80,19 @@ export default function PdfRecordsPage() {
     }
   };
 
+  const handleDownloadBadges = async (record: PdfRecordResponse) => {
+    try {
+      setDownloadingId(record.id);
+      const blob = await downloadBadgeArchive(record.id, 'png');
+      saveBlob(blob, `${record.projectName || 'nametag'}-badges.zip`);
+    } catch (err) {
+      console.error('Failed to download badge archive:', err);
+      alert(t('downloadError'));
+    } finally {
+      setDownloadingId(null);
+    }
+  };
+
   const handleDelete = async (record: PdfRecordResponse) => {
     if (!confirm(t('deleteConfirm'))) return;
 
@@ -71,6 +100,7 @@ export default function PdfRecordsPage() {
       setDeletingId(record.id);
       await deletePdfRecord(record.id);
       setRecords((prev) => prev.filter((r) => r.id !== record.id));
+      setTotalCount((prev) => Math.max(0, prev - 1));
     } catch (err) {
       console.error('Failed to delete PDF record:', err);
       alert(t('deleteError'));
@@ -135,7 +165,7 @@ export default function PdfRecordsPage() {
         ) : (
           <div className="space-y-4">
             <p className="text-sm text-slate-500 mb-6">
-              {t('recordsCount', { count: records.length })}
+              {t('recordsCount', { count: totalCount })}
             </p>
 
             <AnimatePresence>
@@ -145,7 +175,7 @@ export default function PdfRecordsPage() {
                   initial={{ opacity: 0, y: 20 }}
                   animate={{ opacity: 1, y: 0 }}
                   exit={{ opacity: 0, y: -20 }}
-                  transition={{ delay: index * 0.05 }}
+                  transition={{ delay: Math.min(index, 10) * 0.05 }}
                   className="bg-white rounded-xl border border-slate-200 p-5 hover:shadow-md transition-shadow"
                 >
                   <div className="flex items-start justify-between">
@@ -189,6 +219,16 @@ export default function PdfRecordsPage() {
                         )}
                         <span className="ml-1 hidden sm:inline">{t('download')}</span>
                       </Button>
+                      <Button
+                        variant="outline"
+                        size="sm"
+                        onClick={() => handleDownloadBadges(record)}
+                        disabled={downloadingId === record.id}
+                        title={t('downloadBadges')}
+                      >
+                        <Images size={16} />
+                        <span className="ml-1 hidden sm:inline">{t('downloadBadges')}</span>
+                      </Button>
                       <Button
                         variant="ghost"
                         size="sm"
@@ -207,6 +247,15 @@ export default function PdfRecordsPage() {
                 </motion.div>
               ))}
             </AnimatePresence>
+
+            {hasMore && (
+              <div className="flex justify-center pt-2">
+                <Button variant="outline" onClick={loadMore} disabled={isLoadingMore}>
+                  {isLoadingMore && <Loader2 className="animate-spin mr-2" size={16} />}
+                  {t('loadMore')}
+                </Button>
+              </div>
+            )}
           </div>
         )}
       </main>
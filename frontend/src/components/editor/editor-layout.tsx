@@ -17,7 +17,7 @@ import { RoleDesignGuideModal } from './role-design-guide-modal';
 import { BlankPagesModal } from './blank-pages-modal';
 import { useMediaQuery } from '@/hooks/use-media-query';
 import { generatePDF } from '@/lib/pdf-generator';
-import { generatePdfViaBackend, downloadPdf } from '@/lib/pdf-api';
+import { generatePdfViaBackend, downloadPdf, saveBlob } from '@/lib/pdf-api';
 import { Link, useRouter } from '@/i18n/routing';
 
 export function EditorLayout() {
@@ -150,7 +150,16 @@ export function EditorLayout() {
         );
 
         // PDF 다운로드
-        const pdfBlob = await downloadPdf(response.id);
+        const pdfBlob = await downloadPdf(response.id, (pagesDone, totalPages) =>
+          setProgress({ current: pagesDone, total: totalPages })
+        );
+
+        // 대규모 행사 모드: 파트별 PDF ZIP은 미리보기 없이 바로 저장
+        if (response.fileType === 'zip') {
+          saveBlob(pdfBlob, 'nametags.zip');
+          return;
+        }
+
         const pdfUrl = URL.createObjectURL(pdfBlob);
         setGeneratedPdfUrl(pdfUrl);
         router.push('/result');
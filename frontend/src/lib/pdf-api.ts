@@ -51,6 +51,9 @@ export interface PdfGenerateRequest {
   projectId?: string;
 }
 
+// 다운로드 형식 (대규모 행사 모드는 파트별 PDF를 묶은 zip)
+export type PdfFileType = 'pdf' | 'zip';
+
 // PDF 생성 응답 타입
 export interface PdfGenerateResponse {
   id: string;
@@ -61,9 +64,16 @@ export interface PdfGenerateResponse {
   watermarkEnabled: boolean;
   createdAt: string;
   expiresAt: string;
+  fileType: PdfFileType;
   downloadUrl: string;
 }
 
+// 단계별 렌더링 통계 (parse, layout, plan, rasterize, encode, assemble, save)
+export interface PdfRenderStats {
+  wallMs: number;
+  stages: Record<string, { wallMs: number; cpuMs: number; allocMb: number; count: number }>;
+}
+
 // PDF 기록 응답 타입
 export interface PdfRecordResponse {
   id: string;
@@ -75,9 +85,28 @@ export interface PdfRecordResponse {
   watermarkText?: string;
   createdAt: string;
   expiresAt: string;
+  fileType: PdfFileType;
+  renderStats?: PdfRenderStats | null;
   daysUntilExpiry: number;
 }
 
+// PDF 기록 목록 페이지 (최신순)
+export interface PdfRecordPage {
+  records: PdfRecordResponse[];
+  totalCount: number;
+  hasMore: boolean;
+}
+
+// PDF 생성 작업 상태 응답 타입
+export interface PdfStatusResponse {
+  id: string;
+  status: 'PROCESSING' | 'COMPLETED' | 'FAILED';
+  pageCount: number;
+  pagesDone: number;
+  totalPages: number;
+  downloadUrl?: string;
+}
+
 /**
  * BE에서 PDF 생성 (로그인 유저 전용)
  */
@@ -153,10 +182,13 @@ export async function generatePdfViaBackend(
 }
 
 /**
- * 내 PDF 기록 목록 조회
+ * 내 PDF 기록 목록 조회 (after를 넘기면 그 기록 다음 페이지)
  */
-export async function getMyPdfRecords(): Promise<PdfRecordResponse[]> {
-  return apiRequest<PdfRecordResponse[]>('/api/v1/pdf/records');
+export async function getMyPdfRecords(after?: PdfRecordResponse): Promise<PdfRecordPage> {
+  const query = after
+    ? `?before=${encodeURIComponent(after.createdAt)}&beforeId=${after.id}`
+    : '';
+  return apiRequest<PdfRecordPage>(`/api/v1/pdf/records${query}`);
 }
 
 /**
@@ -167,19 +199,66 @@ export function getPdfDownloadUrl(generationId: string): string {
   return `${baseUrl}/api/v1/pdf/${generationId}/download`;
 }
 
+/**
+ * PDF 생성 작업 상태 조회
+ */
+export async function getPdfStatus(generationId: string): Promise<PdfStatusResponse> {
+  return apiRequest<PdfStatusResponse>(`/api/v1/pdf/${generationId}/status`);
+}
+
+/**
+ * 백그라운드 PDF 생성이 끝날 때까지 대기
+ */
+export async function waitForPdfReady(
+  generationId: string,
+  onProgress?: (pagesDone: number, totalPages: number) => void,
+  pollIntervalMs = 1000
+): Promise<void> {
+  for (;;) {
+    const status = await getPdfStatus(generationId);
+    onProgress?.(status.pagesDone, status.totalPages);
+
+    if (status.status === 'COMPLETED') return;
+    if (status.status === 'FAILED') {
+      throw new Error('PDF 생성에 실패했습니다');
+    }
+
+    await new Promise((resolve) => setTimeout(resolve, pollIntervalMs));
+  }
+}
+
 /**
  * PDF 다운로드 (Blob으로 가져오기)
+ * - 생성 중이면 완료될 때까지 기다린 뒤 다운로드
  */
-export async function downloadPdf(generationId: string): Promise<Blob> {
-  const response = await apiRequest<Response>(`/api/v1/pdf/${generationId}/download`, {
-    method: 'GET',
-  });
+export async function downloadPdf(
+  generationId: string,
+  onProgress?: (pagesDone: number, totalPages: number) => void
+): Promise<Blob> {
+  await waitForPdfReady(generationId, onProgress);
+  return fetchBlob(`/api/v1/pdf/${generationId}/download`);
+}
+
+/**
+ * 명찰별 파일(PNG 또는 PDF) ZIP 다운로드
+ */
+export async function downloadBadgeArchive(
+  generationId: string,
+  format: 'png' | 'pdf' = 'png'
+): Promise<Blob> {
+  await waitForPdfReady(generationId);
+  return fetchBlob(`/api/v1/pdf/${generationId}/badges?format=${format}`);
+}
 
+/**
+ * 인증 헤더를 붙여 바이너리 응답 가져오기
+ */
+async function fetchBlob(path: string): Promise<Blob> {
   // apiRequest가 JSON을 반환하므로 직접 fetch 사용
   const baseUrl = process.env.NEXT_PUBLIC_API_URL || '';
   const { accessToken } = await import('@/stores/auth-store').then(m => m.useAuthStore.getState());
 
-  const fetchResponse = await fetch(`${baseUrl}/api/v1/pdf/${generationId}/download`, {
+  const fetchResponse = await fetch(`${baseUrl}${path}`, {
     headers: {
       Authorization: `Bearer ${accessToken}`,
     },
@@ -193,6 +272,20 @@ export async function downloadPdf(generationId: string): Promise<Blob> {
   return fetchResponse.blob();
 }
 
+/**
+ * Blob을 파일로 저장
+ */
+export function saveBlob(blob: Blob, fileName: string): void {
+  const url = URL.createObjectURL(blob);
+  const a = document.createElement('a');
+  a.href = url;
+  a.download = fileName;
+  document.body.appendChild(a);
+  a.click();
+  document.body.removeChild(a);
+  URL.revokeObjectURL(url);
+}
+
 /**
  * PDF 기록 삭제
  */